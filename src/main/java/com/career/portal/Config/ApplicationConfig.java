@@ -1,8 +1,12 @@
 package com.career.portal.Config;
 
+import com.career.portal.models.User;
 import com.career.portal.repositories.UserRepository;
+import com.career.portal.services.BulkheadPasswordEncoder;
+import com.career.portal.services.PrincipalCache;
 import com.cloudinary.Cloudinary;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,10 +21,10 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.client.RestTemplate;
 
 import java.nio.charset.StandardCharsets;
@@ -28,11 +32,13 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
 
+@Slf4j
 @Configuration
 @RequiredArgsConstructor
 public class ApplicationConfig {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Value("${spring.mail.username}")
     private String mailUsername;
@@ -43,9 +49,58 @@ public class ApplicationConfig {
     @Value("${CLOUDINARY_URL}")
     private String cloudinaryUrl;
 
+    @Value("${security.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    @Value("${security.bcrypt.target-ms:250}")
+    private long bcryptTargetMillis;
+
+    @Value("${security.hashing.threads:0}")
+    private int hashingThreads;
+
+    @Value("${security.hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
+    @Value("${security.hashing.timeout-ms:5000}")
+    private long hashingTimeoutMillis;
+
+    @Bean
+    public BulkheadPasswordEncoder passwordEncoder() {
+        int strength = bcryptStrength > 0 ? bcryptStrength : calibrateBcryptStrength(bcryptTargetMillis);
+        log.info("BCrypt strength {} takes ~{} ms per hash", strength, measureBcryptMillis(strength));
+
+        int threads = hashingThreads > 0 ? hashingThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BulkheadPasswordEncoder(new BCryptPasswordEncoder(strength), threads, hashingQueueCapacity, hashingTimeoutMillis);
+    }
+
+    private int calibrateBcryptStrength(long targetMillis) {
+        int strength = 10;
+        long millis = measureBcryptMillis(strength);
+        // Each extra round doubles the cost.
+        while (strength < 16 && millis * 2 <= targetMillis) {
+            strength++;
+            millis *= 2;
+        }
+        return strength;
+    }
+
+    private long measureBcryptMillis(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode("warm-up");
+        long start = System.nanoTime();
+        encoder.encode("calibration");
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (user, newPassword) -> {
+            User existingUser = userRepository.findByEmail(user.getUsername())
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + user.getUsername()));
+            existingUser.setPassword(newPassword);
+            log.info("Rehashed password for {} with the current BCrypt strength", existingUser.getEmail());
+            return userRepository.save(existingUser);
+        };
     }
 
     @Bean
@@ -67,17 +122,21 @@ public class ApplicationConfig {
         return mailSender;
     }
 
+    // Serves the request filter from the principal cache, without the password hash.
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> userRepository.findByEmail(username)
+        return username -> principalCache.get(username, userRepository::findByEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + username));
     }
 
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
-        authProvider.setUserDetailsService(userDetailsService());
+        // Login checks the password hash, so it reads the user itself rather than the cached principal.
+        authProvider.setUserDetailsService(username -> userRepository.findByEmail(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + username)));
         authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService());
         return authProvider;
     }
 
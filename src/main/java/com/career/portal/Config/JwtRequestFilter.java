@@ -1,14 +1,19 @@
 package com.career.portal.Config;
 
+import com.career.portal.models.AuthenticatedUser;
+import com.career.portal.services.AccessTokenRevocationList;
 import com.career.portal.services.JwtUtil;
+import com.career.portal.services.VerifiedToken;
 //import com.career.portal.services.UserDetailsServiceImpl;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,6 +24,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -28,6 +34,10 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 //    private final UserDetailsServiceImpl userDetailsService;
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final AccessTokenRevocationList revocationList;
+
+    @Value("${jwt.stateless:false}")
+    private boolean statelessAuth;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
@@ -39,50 +49,80 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
 
         String username = null;
-        String jwt = null;
+        VerifiedToken verifiedToken = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+            String jwt = authorizationHeader.substring(7);
             log.debug("Extracted JWT: {}", jwt.substring(0, Math.min(jwt.length(), 20)) + "...");
             try {
-                username = jwtUtil.extractUsername(jwt);
-                log.debug("Extracted username: {}", username);
+                verifiedToken = jwtUtil.verify(jwt);
+                if (revocationList.isRevoked(verifiedToken.getId())) {
+                    log.warn("Revoked JWT presented for user: {}", verifiedToken.getSubject());
+                } else {
+                    username = verifiedToken.getSubject();
+                    log.debug("Extracted username: {}", username);
+                }
             } catch (IllegalArgumentException e) {
                 log.error("Unable to get JWT Token", e);
             } catch (ExpiredJwtException e) {
                 log.error("JWT Token Expired", e);
+            } catch (JwtException e) {
+                log.error("Invalid JWT Token", e);
             }
         }
 
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            log.debug("Loading user details for username: {}", username);
+            if (statelessAuth) {
+                authenticateFromClaims(verifiedToken, request);
+            } else {
+                authenticateFromUserDetails(verifiedToken, username, request);
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    private void authenticateFromClaims(VerifiedToken verifiedToken, HttpServletRequest request) {
+        if (verifiedToken.isExpired()) {
+            log.warn("JWT token expired for user: {}", verifiedToken.getSubject());
+            return;
+        }
+        Optional<AuthenticatedUser> principal = jwtUtil.toPrincipal(verifiedToken);
+        if (principal.isEmpty() || !principal.get().isEnabled() || !principal.get().isAccountNonLocked()) {
+            log.warn("JWT claims rejected for user: {}", verifiedToken.getSubject());
+            return;
+        }
+        setAuthentication(principal.get(), request);
+    }
+
+    private void authenticateFromUserDetails(VerifiedToken verifiedToken, String username, HttpServletRequest request) {
+        log.debug("Loading user details for username: {}", username);
+        try {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            log.debug("User details loaded: {}", userDetails.getUsername());
+            log.debug("User authorities: {}", userDetails.getAuthorities());
             try {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                log.debug("User details loaded: {}", userDetails.getUsername());
-                log.debug("User authorities: {}", userDetails.getAuthorities());
-                try {
-                    boolean isValid = jwtUtil.validateToken(jwt, userDetails);
-                    log.debug("JWT validation result: {}", isValid);
-                    if (isValid) {
-                        log.debug("JWT token is valid, setting authentication");
-
-                        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities());
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-
-                        log.debug("Authentication set in SecurityContext");
-                    } else {
-                        log.warn("JWT token validation failed for user: {}", username);
-                    }
-                } catch (Exception e) {
-                    log.error("Exception during JWT validation for user: {}", username, e);
+                boolean isValid = jwtUtil.validateToken(verifiedToken, userDetails);
+                log.debug("JWT validation result: {}", isValid);
+                if (isValid) {
+                    setAuthentication(userDetails, request);
+                } else {
+                    log.warn("JWT token validation failed for user: {}", username);
                 }
-            }catch (Exception e) {
-                log.error("Error loading user details for username: {}", username, e);
+            } catch (Exception e) {
+                log.error("Exception during JWT validation for user: {}", username, e);
             }
+        }catch (Exception e) {
+            log.error("Error loading user details for username: {}", username, e);
         }
-        chain.doFilter(request, response);
+    }
+
+    private void setAuthentication(UserDetails userDetails, HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+
+        log.debug("Authentication set in SecurityContext");
     }
 }
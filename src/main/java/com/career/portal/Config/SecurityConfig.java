@@ -40,6 +40,9 @@ public class SecurityConfig {
                                 "/api/users/register",
                                 "/api/jobs/**",
                                 "/api/auth/login",
+                                "/api/auth/keys",
+                                "/api/auth/refresh",
+                                "/api/auth/logout",
                                 "/api/auth/verify-email",
                                 "/api/auth/request-password-reset",
                                 "/api/auth/reset-password",
@@ -4,6 +4,15 @@ import com.career.portal.models.Question;
 import com.career.portal.models.User;
 import com.career.portal.models.UserRole;
 import com.career.portal.repositories.QuestionRepository;
+import com.career.portal.services.ApplicationEventHub;
+import com.career.portal.services.BulkheadPasswordEncoder;
+import com.career.portal.services.CandidateRankingService;
+import com.career.portal.services.DomainEventPublisher;
+import com.career.portal.services.JobListingCache;
+import com.career.portal.services.JwtUtil;
+import com.career.portal.services.PrincipalCache;
+import com.career.portal.services.RecommendationService;
+import com.career.portal.services.RecruiterDashboardService;
 import com.career.portal.services.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +33,15 @@ public class AdminController {
 
     private final UserService userService;
     private final QuestionRepository questionRepository;
+    private final JwtUtil jwtUtil;
+    private final PrincipalCache principalCache;
+    private final BulkheadPasswordEncoder passwordEncoder;
+    private final JobListingCache jobListingCache;
+    private final RecruiterDashboardService recruiterDashboardService;
+    private final RecommendationService recommendationService;
+    private final DomainEventPublisher domainEventPublisher;
+    private final CandidateRankingService candidateRankingService;
+    private final ApplicationEventHub applicationEventHub;
 
     @GetMapping("/users")
     public ResponseEntity<List<User>> getAllUsers() {
@@ -51,4 +69,49 @@ public class AdminController {
         return ResponseEntity.status(HttpStatus.CREATED).body(newQuestion);
     }
 
+    @GetMapping("/metrics/jwt-cache")
+    public ResponseEntity<Map<String, Long>> getJwtCacheStats() {
+        return ResponseEntity.ok(jwtUtil.getVerifiedTokenCacheStats());
+    }
+
+    @GetMapping("/metrics/principal-cache")
+    public ResponseEntity<Map<String, Long>> getPrincipalCacheStats() {
+        return ResponseEntity.ok(principalCache.stats());
+    }
+
+    @GetMapping("/metrics/password-hashing")
+    public ResponseEntity<Map<String, Long>> getPasswordHashingStats() {
+        return ResponseEntity.ok(passwordEncoder.stats());
+    }
+
+    @GetMapping("/metrics/job-cache")
+    public ResponseEntity<Map<String, Long>> getJobCacheStats() {
+        return ResponseEntity.ok(jobListingCache.stats());
+    }
+
+    @GetMapping("/metrics/dashboard-cache")
+    public ResponseEntity<Map<String, Long>> getDashboardCacheStats() {
+        return ResponseEntity.ok(recruiterDashboardService.getCacheStats());
+    }
+
+    @GetMapping("/metrics/recommendations")
+    public ResponseEntity<Map<String, Long>> getRecommendationStats() {
+        return ResponseEntity.ok(recommendationService.getCacheStats());
+    }
+
+    @GetMapping("/metrics/ranking")
+    public ResponseEntity<Map<String, Long>> getRankingStats() {
+        return ResponseEntity.ok(candidateRankingService.getCacheStats());
+    }
+
+    @GetMapping("/metrics/application-stream")
+    public ResponseEntity<Map<String, Long>> getApplicationStreamStats() {
+        return ResponseEntity.ok(applicationEventHub.stats());
+    }
+
+    @GetMapping("/metrics/domain-events")
+    public ResponseEntity<Map<String, Long>> getDomainEventStats() {
+        return ResponseEntity.ok(domainEventPublisher.stats());
+    }
+
 }
@@ -4,10 +4,17 @@ import com.career.portal.dto.AuthenticationRequest;
 import com.career.portal.dto.AuthenticationResponse;
 import com.career.portal.dto.PasswordReset;
 import com.career.portal.dto.PasswordResetRequest;
+import com.career.portal.dto.RefreshTokenRequest;
 import com.career.portal.models.User;
+import com.career.portal.services.AccessTokenRevocationList;
+import com.career.portal.services.JwtKeyRing;
 import com.career.portal.services.JwtUtil;
+import com.career.portal.services.PasswordHashingRejectedException;
+import com.career.portal.services.RefreshTokenService;
 //import com.career.portal.services.UserDetailsServiceImpl;
 import com.career.portal.services.UserService;
+import com.career.portal.services.VerifiedToken;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -33,6 +40,9 @@ public class AuthController {
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
     private final UserService userService;
+    private final JwtKeyRing jwtKeyRing;
+    private final RefreshTokenService refreshTokenService;
+    private final AccessTokenRevocationList revocationList;
 
     @PostMapping("/login")
     public ResponseEntity<?> createAuthenticationToken(@RequestBody AuthenticationRequest authenticationRequest) throws Exception {
@@ -43,19 +53,9 @@ public class AuthController {
             log.info("Authentication Success: {}", authentication);
             log.info("Authenticating user {}", authentication.getPrincipal());
             User userDetails = (User) authentication.getPrincipal();
-            final String jwt = jwtUtil.generateToken(userDetails);
-            AuthenticationResponse response = AuthenticationResponse.builder()
-                    .jwt(jwt)
-                    .id(userDetails.getId())
-                    .email(userDetails.getEmail())
-                    .firstName(userDetails.getFirstName())
-                    .lastName(userDetails.getLastName())
-                    .role(userDetails.getRole())
-                    .phone(userDetails.getPhone())
-                    .resumePath(userDetails.getResumePath())
-                    .createdAt(userDetails.getCreatedAt())
-                    .build();
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(buildAuthenticationResponse(userDetails, refreshTokenService.issue(userDetails)));
+        } catch (PasswordHashingRejectedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header("Retry-After", "1").body(e.getMessage());
         }  catch (DisabledException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Please verify your email address before logging in.");
         } catch (BadCredentialsException e) {
@@ -65,6 +65,48 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@RequestBody RefreshTokenRequest request){
+        try{
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+            return ResponseEntity.ok(buildAuthenticationResponse(rotation.user(), rotation.refreshToken()));
+        }catch (IllegalArgumentException | IllegalStateException e){
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+                                       @RequestBody(required = false) RefreshTokenRequest request){
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+            try {
+                VerifiedToken accessToken = jwtUtil.verify(authorizationHeader.substring(7));
+                revocationList.revoke(accessToken.getId(), accessToken.getExpiration());
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("Ignoring invalid access token on logout");
+            }
+        }
+        if (request != null && request.getRefreshToken() != null) {
+            refreshTokenService.revoke(request.getRefreshToken());
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    private AuthenticationResponse buildAuthenticationResponse(User user, String refreshToken) {
+        return AuthenticationResponse.builder()
+                .jwt(jwtUtil.generateToken(user))
+                .refreshToken(refreshToken)
+                .id(user.getId())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .role(user.getRole())
+                .phone(user.getPhone())
+                .resumePath(user.getResumePath())
+                .createdAt(user.getCreatedAt())
+                .build();
+    }
+
     @GetMapping("/verify-email")
     public ResponseEntity<String> verifyEmail(@RequestParam("token") String token){
         try{
@@ -104,4 +146,11 @@ public class AuthController {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+
+    @GetMapping("/keys")
+    public ResponseEntity<Map<String, Object>> getVerificationKeys(){
+        return ResponseEntity.ok(Map.of(
+                "algorithm", jwtKeyRing.getSigningAlgorithm(),
+                "keys", jwtKeyRing.getPublicKeys()));
+    }
 }
@@ -1,16 +1,29 @@
 package com.career.portal.controllers;
 
+import com.career.portal.dto.ApplicantSummary;
+import com.career.portal.dto.BulkStatusUpdateRequest;
+import com.career.portal.dto.BulkStatusUpdateResult;
+import com.career.portal.dto.CursorPage;
+import com.career.portal.dto.FunnelStats;
 import com.career.portal.models.ApplicationStatus;
 import com.career.portal.models.JobApplication;
+import com.career.portal.models.UserPrincipal;
+import com.career.portal.services.ApplicationEventHub;
 import com.career.portal.services.JobApplicationService;
+import com.career.portal.services.StatusHistoryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.context.properties.bind.DefaultValue;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -19,6 +32,8 @@ import java.util.Optional;
 public class JobApplicationController {
 
     private final JobApplicationService jobApplicationService;
+    private final ApplicationEventHub applicationEventHub;
+    private final StatusHistoryService statusHistoryService;
 
     @PostMapping
     @PreAuthorize("hasRole('USER')")
@@ -40,18 +55,38 @@ public class JobApplicationController {
 
     @GetMapping("/job/{jobId}")
     @PreAuthorize("hasRole('RECRUITER')")
-    public ResponseEntity<List<JobApplication>> getJobApplications(
+    public ResponseEntity<CursorPage<ApplicantSummary>> getJobApplications(
+            @PathVariable Long jobId,
+            @RequestParam(defaultValue = "date") String sortBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size){
+        try {
+            return ResponseEntity.ok(jobApplicationService.findApplicants(jobId, sortBy, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/job/{jobId}/export")
+    @PreAuthorize("hasRole('RECRUITER')")
+    public ResponseEntity<StreamingResponseBody> exportJobApplications(
             @PathVariable Long jobId,
             @RequestParam(defaultValue = "date") String sortBy){
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> jobApplicationService.exportApplicants(jobId, sortBy, out));
+    }
 
-        List<JobApplication> applications;
-        if(sortBy.equals("score")){
-            applications = jobApplicationService.findApplicationByJobVacancyOrderedByScore(jobId);
-        }else{
-            applications = jobApplicationService.findApplicationByJobVacancyOrderedByDate(jobId);
+    // Live submissions, status changes and assessment results for the calling recruiter's vacancies.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('RECRUITER')")
+    public ResponseEntity<SseEmitter> streamApplicationEvents(Authentication authentication){
+        UserPrincipal recruiter = (UserPrincipal) authentication.getPrincipal();
+        try {
+            return ResponseEntity.ok(applicationEventHub.subscribe(recruiter.getId()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         }
-
-        return ResponseEntity.ok(applications);
     }
 
     @GetMapping("/{id}")
@@ -73,6 +108,18 @@ public class JobApplicationController {
     }
 
 
+    @PostMapping("/status/bulk")
+    @PreAuthorize("hasRole('RECRUITER')")
+    public ResponseEntity<List<BulkStatusUpdateResult>> bulkUpdateApplicationStatus(@RequestBody BulkStatusUpdateRequest request,
+                                                                                    Authentication authentication){
+        UserPrincipal reviewer = (UserPrincipal) authentication.getPrincipal();
+        try {
+            return ResponseEntity.ok(jobApplicationService.bulkUpdateStatus(request, reviewer.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PutMapping("/{id}/notes")
     @PreAuthorize("hasRole('RECRUITER')")
     public ResponseEntity<JobApplication> addNotes(@PathVariable Long id, @RequestBody String notes){
@@ -94,4 +141,24 @@ public class JobApplicationController {
         return ResponseEntity.ok(count);
     }
 
+    @GetMapping("/job/{jobId}/funnel")
+    @PreAuthorize("hasRole('RECRUITER')")
+    public ResponseEntity<FunnelStats> getJobFunnel(@PathVariable Long jobId){
+        return ResponseEntity.ok(statusHistoryService.funnelForVacancy(jobId));
+    }
+
+    // The calling recruiter's own funnel across all of their vacancies.
+    @GetMapping("/recruiter/funnel")
+    @PreAuthorize("hasRole('RECRUITER')")
+    public ResponseEntity<FunnelStats> getRecruiterFunnel(Authentication authentication){
+        UserPrincipal recruiter = (UserPrincipal) authentication.getPrincipal();
+        return ResponseEntity.ok(statusHistoryService.funnelForRecruiter(recruiter.getId()));
+    }
+
+    @GetMapping("/job/{jobId}/counts")
+    @PreAuthorize("hasRole('RECRUITER')")
+    public ResponseEntity<Map<ApplicationStatus, Long>> getApplicationCountsByStatus(@PathVariable Long jobId){
+        return ResponseEntity.ok(jobApplicationService.countApplicationsForJobByStatus(jobId));
+    }
+
 }
@@ -1,60 +1,97 @@
 package com.career.portal.controllers;
 
+import com.career.portal.dto.CursorPage;
+import com.career.portal.dto.JobFilter;
+import com.career.portal.dto.JobVacancySummary;
+import com.career.portal.dto.RecruiterDashboard;
 import com.career.portal.models.ExperienceLevel;
 import com.career.portal.models.JobType;
 import com.career.portal.models.JobVacancy;
+import com.career.portal.services.JobFacetIndex;
+import com.career.portal.services.JobFeedService;
+import com.career.portal.services.JobListingCache;
+import com.career.portal.services.JobListingCache.CachedJson;
 import com.career.portal.services.JobVacancyService;
+import com.career.portal.services.RecruiterDashboardService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/jobs")
 @RequiredArgsConstructor
 public class JobVacancyController {
 
+    private static final String FEED_CURSOR_HEADER = "X-Feed-Cursor";
+
     private final JobVacancyService jobVacancyService;
+    private final JobFeedService jobFeedService;
+    private final JobListingCache jobListingCache;
+    private final RecruiterDashboardService recruiterDashboardService;
 
     @GetMapping
-    public ResponseEntity<List<JobVacancy>> getAllActiveJobs(){
-        List<JobVacancy> jobs = jobVacancyService.getAllActiveVacancies();
-        return ResponseEntity.ok(jobs);
+    public ResponseEntity<byte[]> getAllActiveJobs(){
+        return cachedJson(jobListingCache.get("active", jobVacancyService::getAllActiveVacancies));
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<JobVacancySummary>> getActiveJobsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) JobType jobType,
+            @RequestParam(required = false) ExperienceLevel experienceLevel){
+        try {
+            return ResponseEntity.ok(jobVacancyService.getActiveVacanciesPage(cursor, size, jobType, experienceLevel));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<JobVacancy> getJobById(@PathVariable Long id){
-        Optional<JobVacancy> job = jobVacancyService.findById(id);
-        return job.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> getJobById(@PathVariable Long id){
+        return cachedJson(jobListingCache.get("job:" + id, () -> jobVacancyService.findById(id).orElse(null)));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<JobVacancy>> searchJobs(@RequestParam String keyword){
-        List<JobVacancy> jobs = jobVacancyService.searchVacancies(keyword);
+    public ResponseEntity<List<JobVacancySummary>> searchJobs(@RequestParam String keyword){
+        List<JobVacancySummary> jobs = jobVacancyService.searchVacancies(keyword);
         return ResponseEntity.ok(jobs);
     }
 
     @GetMapping("/filter")
-    public ResponseEntity<List<JobVacancy>> filterJobs(
-            @RequestParam(required = false) JobType jobType,
-            @RequestParam(required = false) ExperienceLevel experienceLevel){
+    public ResponseEntity<byte[]> filterJobs(JobFilter filter){
+        return cachedJson(jobListingCache.get(filterKey(filter), () -> jobVacancyService.filterVacancies(filter)));
+    }
 
-        List<JobVacancy> jobs;
-        if(experienceLevel != null && jobType != null){
-            jobs = jobVacancyService.findActiveVacanciesByExperienceLevelAndJobType(experienceLevel, jobType);
-        }else if(jobType != null){
-            jobs = jobVacancyService.findByJobType(jobType);
-        }else if(experienceLevel != null){
-            jobs = jobVacancyService.findByExperienceLevel(experienceLevel);
-        }else{
-            jobs = jobVacancyService.getAllActiveVacancies();
+    // Syndication feed for job boards. Without `since` it is a snapshot of open jobs; with it, the changes after
+    // that sequence. X-Feed-Cursor carries the value to pass as `since` next time.
+    @GetMapping("/feed")
+    public ResponseEntity<StreamingResponseBody> getJobFeed(
+            @RequestParam(required = false) Long since,
+            @RequestParam(defaultValue = "ndjson") String format){
+        long cursor = jobFeedService.currentCursor();
+        if("rss".equalsIgnoreCase(format)){
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/rss+xml"))
+                    .header(FEED_CURSOR_HEADER, String.valueOf(cursor))
+                    .body(out -> jobFeedService.writeRss(since, cursor, out));
         }
-
-        return ResponseEntity.ok(jobs);
+        if(!"ndjson".equalsIgnoreCase(format)){
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(FEED_CURSOR_HEADER, String.valueOf(cursor))
+                .body(out -> jobFeedService.writeNdjson(since, cursor, out));
     }
 
     @PostMapping
@@ -81,8 +118,42 @@ public class JobVacancyController {
 
     @GetMapping("/recruiter/{recruiterId}")
     @PreAuthorize("hasRole('RECRUITER')")
-    public ResponseEntity<List<JobVacancy>> getJobsByRecruiter(@PathVariable Long recruiterId){
-        List<JobVacancy> jobs = jobVacancyService.findVacanciesByRecruiter(recruiterId);
+    public ResponseEntity<List<JobVacancySummary>> getJobsByRecruiter(@PathVariable Long recruiterId){
+        List<JobVacancySummary> jobs = jobVacancyService.findVacanciesByRecruiter(recruiterId);
         return ResponseEntity.ok(jobs);
     }
+
+    @GetMapping("/recruiter/{recruiterId}/dashboard")
+    @PreAuthorize("(hasRole('RECRUITER') and #recruiterId == authentication.principal.id) or hasRole('ADMIN')")
+    public ResponseEntity<RecruiterDashboard> getRecruiterDashboard(@PathVariable Long recruiterId){
+        return ResponseEntity.ok(recruiterDashboardService.getDashboard(recruiterId));
+    }
+
+    private ResponseEntity<byte[]> cachedJson(Optional<CachedJson> cached){
+        if(cached.isEmpty()){
+            return ResponseEntity.notFound().build();
+        }
+        // HttpEntityMethodProcessor compares the ETag with If-None-Match and turns this into a 304 itself.
+        CachedJson json = cached.get();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(json.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(json.body());
+    }
+
+    // Same selections in any order share one cache entry.
+    private static String filterKey(JobFilter filter){
+        return "filter:" + sorted(filter.getJobType()) + ";" + sorted(filter.getExperienceLevel()) + ";"
+                + sorted(filter.getLocation() == null ? null : filter.getLocation().stream().map(JobFacetIndex::normalizeLocation).toList()) + ";"
+                + sorted(filter.getSalary()) + ";"
+                + filter.getMinSalary() + ";" + filter.getMaxSalary() + ";" + filter.getDeadlineAfter();
+    }
+
+    private static String sorted(List<?> values){
+        if(values == null){
+            return "";
+        }
+        return values.stream().map(String::valueOf).sorted().distinct().collect(Collectors.joining(","));
+    }
 }
@@ -2,7 +2,7 @@ package com.career.portal.controllers;
 
 import com.career.portal.dto.ReferralRequest;
 import com.career.portal.models.Referral;
-import com.career.portal.models.User;
+import com.career.portal.models.UserPrincipal;
 import com.career.portal.services.ReferralService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -26,7 +26,7 @@ public class ReferralController {
     public ResponseEntity<?> createReferral(@RequestBody ReferralRequest referralRequest){
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            User referrer = (User) authentication.getPrincipal();
+            UserPrincipal referrer = (UserPrincipal) authentication.getPrincipal();
 
             Referral createdReferral = referralService.createReferral(referralRequest, referrer.getId());
             return ResponseEntity.status(HttpStatus.CREATED).body(createdReferral);
@@ -39,7 +39,7 @@ public class ReferralController {
     @PreAuthorize("hasRole('EMPLOYEE')")
     public ResponseEntity<List<Referral>> getSentReferrals(){
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User referrer = (User) authentication.getPrincipal();
+        UserPrincipal referrer = (UserPrincipal) authentication.getPrincipal();
         List<Referral> referrals = referralService.findReferralsByReferrer(referrer.getId());
         return ResponseEntity.ok(referrals);
     }
@@ -48,7 +48,7 @@ public class ReferralController {
     @PreAuthorize("hasAnyRole('USER', 'CANDIDATE')")
     public ResponseEntity<List<Referral>> getPendingReferrals(){
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         List<Referral> referrals = referralService.findPendingReferralsForUser(user.getId());
         return ResponseEntity.ok(referrals);
     }
@@ -1,9 +1,12 @@
 package com.career.portal.controllers;
 
+import com.career.portal.dto.JobRecommendation;
 import com.career.portal.dto.UserProfileUpdateRequest;
 import com.career.portal.models.User;
 import com.career.portal.models.UserRole;
 import com.career.portal.services.CloudinaryService;
+import com.career.portal.services.PasswordHashingRejectedException;
+import com.career.portal.services.RecommendationService;
 import com.career.portal.services.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,6 +36,7 @@ public class UserController {
     private final UserService userService;
     private static final String UPLOAD_DIR = "uploads/resumes/";
     private final CloudinaryService cloudinaryService;
+    private final RecommendationService recommendationService;
 
 
     @PostMapping("/register")
@@ -42,6 +46,8 @@ public class UserController {
             return ResponseEntity.status(HttpStatus.CREATED).body("Registration successful. Please check your email to verify your account.");
         }catch (IllegalArgumentException e){
             return ResponseEntity.badRequest().build();
+        }catch (PasswordHashingRejectedException e){
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header("Retry-After", "1").body(e.getMessage());
         }
     }
 
@@ -128,6 +134,12 @@ public class UserController {
         return cloudinaryUrl;
     }
 
+    @GetMapping("/{id}/recommendations")
+    @PreAuthorize("#id == authentication.principal.id")
+    public ResponseEntity<List<JobRecommendation>> getRecommendations(@PathVariable Long id, @RequestParam(required = false) Integer limit){
+        return ResponseEntity.ok(recommendationService.recommend(id, limit));
+    }
+
     @PutMapping("/{id}/score")
     @PreAuthorize("hasRole('RECRUITER')")
     public ResponseEntity<User> updateProfileScore(@PathVariable Long id, @RequestParam Double score){
@@ -0,0 +1,26 @@
+package com.career.portal.dto;
+
+import com.career.portal.models.ApplicationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Recruiter's view of one application: the applicant's contact details and the application state, nothing else.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicantSummary {
+    private Long applicationId;
+    private Long userId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private double profileScore;
+    private ApplicationStatus status;
+    private LocalDateTime appliedAt;
+    private LocalDateTime reviewedAt;
+    private Boolean hasReferral;
+    private Integer assessmentScore;
+}
@@ -0,0 +1,29 @@
+package com.career.portal.dto;
+
+import com.career.portal.models.ApplicationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One entry on a recruiter's live application stream.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationPipelineEvent {
+
+    public enum Type {
+        APPLICATION_SUBMITTED,
+        STATUS_CHANGED,
+        ASSESSMENT_COMPLETED
+    }
+
+    private Type type;
+    private Long applicationId;
+    private Long jobVacancyId;
+    private ApplicationStatus previousStatus;
+    private ApplicationStatus status;
+    private Integer assessmentScore;
+    private LocalDateTime occurredAt;
+}
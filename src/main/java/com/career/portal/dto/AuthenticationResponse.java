@@ -14,6 +14,7 @@ import java.time.LocalDateTime;
 @Builder
 public class AuthenticationResponse {
     private String jwt;
+    private String refreshToken;
     private Long id;
     private String email;
     private String firstName;
@@ -0,0 +1,12 @@
+package com.career.portal.dto;
+
+import com.career.portal.models.ApplicationStatus;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkStatusUpdateRequest {
+    private List<Long> applicationIds;
+    private ApplicationStatus status;
+}
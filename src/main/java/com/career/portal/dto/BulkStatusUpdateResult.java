@@ -0,0 +1,22 @@
+package com.career.portal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateResult {
+
+    public enum Outcome {
+        UPDATED,
+        UNCHANGED,
+        NOT_FOUND,
+        // Another update changed the application between the read and the write.
+        CONFLICT
+    }
+
+    private Long applicationId;
+    private Outcome outcome;
+}
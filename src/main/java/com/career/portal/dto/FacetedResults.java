@@ -0,0 +1,18 @@
+package com.career.portal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetedResults<T> {
+    private List<T> items;
+    private int total;
+    // facet name -> facet value -> number of matches if that value were selected
+    private Map<String, Map<String, Integer>> facets;
+}
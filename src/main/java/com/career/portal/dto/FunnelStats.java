@@ -0,0 +1,27 @@
+package com.career.portal.dto;
+
+import com.career.portal.models.ApplicationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FunnelStats {
+    private Map<ApplicationStatus, Long> entered;
+    // Share of the applications leaving a stage that went to each next stage, keyed "FROM->TO".
+    private Map<String, Double> conversionRates;
+    private Map<ApplicationStatus, StageTime> timeInStage;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StageTime {
+        private long transitions;
+        private long p50Seconds;
+        private long p90Seconds;
+    }
+}
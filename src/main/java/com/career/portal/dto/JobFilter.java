@@ -0,0 +1,23 @@
+package com.career.portal.dto;
+
+import com.career.portal.models.ExperienceLevel;
+import com.career.portal.models.JobType;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Values within one facet are OR-ed together, facets and ranges are AND-ed with each other.
+@Data
+public class JobFilter {
+    private List<JobType> jobType;
+    private List<ExperienceLevel> experienceLevel;
+    private List<String> location;
+    private List<String> salary;
+    // Advertised salary range must overlap [minSalary, maxSalary]; either end may be open.
+    private Double minSalary;
+    private Double maxSalary;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime deadlineAfter;
+}
@@ -0,0 +1,13 @@
+package com.career.portal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobRecommendation {
+    private JobVacancySummary job;
+    private double score;
+}
@@ -0,0 +1,33 @@
+package com.career.portal.dto;
+
+import com.career.portal.models.ExperienceLevel;
+import com.career.portal.models.JobType;
+import com.career.portal.models.JobVacancy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Listing view of a vacancy without the description and requirements TEXT columns.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobVacancySummary {
+    private Long id;
+    private String title;
+    private String location;
+    private JobType jobType;
+    private ExperienceLevel experienceLevel;
+    private Double minSalary;
+    private Double maxSalary;
+    private LocalDateTime applicationDeadline;
+    private LocalDateTime postedAt;
+    private Boolean isActive;
+
+    public static JobVacancySummary from(JobVacancy vacancy) {
+        return new JobVacancySummary(vacancy.getId(), vacancy.getTitle(), vacancy.getLocation(),
+                vacancy.getJobType(), vacancy.getExperienceLevel(), vacancy.getMinSalary(), vacancy.getMaxSalary(),
+                vacancy.getApplicationDeadline(), vacancy.getPostedAt(), vacancy.getIsActive());
+    }
+}
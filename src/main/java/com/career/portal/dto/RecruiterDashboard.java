@@ -0,0 +1,21 @@
+package com.career.portal.dto;
+
+import com.career.portal.models.ApplicationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecruiterDashboard {
+    private Long recruiterId;
+    private long totalApplications;
+    private Map<ApplicationStatus, Long> applicationsByStatus;
+    private List<VacancyApplicationStats> vacancies;
+    private LocalDateTime generatedAt;
+}
@@ -0,0 +1,8 @@
+package com.career.portal.dto;
+
+import lombok.Data;
+
+@Data
+public class RefreshTokenRequest {
+    private String refreshToken;
+}
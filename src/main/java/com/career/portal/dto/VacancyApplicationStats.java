@@ -0,0 +1,22 @@
+package com.career.portal.dto;
+
+import com.career.portal.models.ApplicationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VacancyApplicationStats {
+    private Long vacancyId;
+    private String title;
+    private Boolean isActive;
+    private long totalApplications;
+    private Map<ApplicationStatus, Long> applicationsByStatus;
+    private LocalDateTime latestApplicationAt;
+    private Double averageAssessmentScore;
+}
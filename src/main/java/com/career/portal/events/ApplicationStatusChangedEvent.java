@@ -0,0 +1,19 @@
+package com.career.portal.events;
+
+import com.career.portal.models.ApplicationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationStatusChangedEvent implements DomainEvent {
+    private Long applicationId;
+    private Long jobVacancyId;
+    private ApplicationStatus previousStatus;
+    private ApplicationStatus status;
+    private Long reviewerId;
+}
@@ -0,0 +1,16 @@
+package com.career.portal.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationSubmittedEvent implements DomainEvent {
+    private Long applicationId;
+    private Long userId;
+    private Long jobVacancyId;
+}
@@ -0,0 +1,17 @@
+package com.career.portal.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssessmentCompletedEvent implements DomainEvent {
+    private Long assessmentId;
+    private Long applicationId;
+    private Long jobVacancyId;
+    private Integer score;
+}
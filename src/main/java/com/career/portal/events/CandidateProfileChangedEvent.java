@@ -0,0 +1,13 @@
+package com.career.portal.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// Published when a candidate's profile, education or experience changes.
+@Getter
+@ToString
+@AllArgsConstructor
+public class CandidateProfileChangedEvent {
+    private final Long userId;
+}
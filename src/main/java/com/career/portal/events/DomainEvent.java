@@ -0,0 +1,6 @@
+package com.career.portal.events;
+
+// Marker for events that go through the transactional outbox (see DomainEventPublisher).
+// Implementations are serialized to JSON, so they carry ids and scalars only and keep a no-args constructor.
+public interface DomainEvent {
+}
@@ -0,0 +1,41 @@
+package com.career.portal.events;
+
+import com.career.portal.models.JobVacancy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Published for a batch of vacancies whose rows changed. Listeners drop every id in vacancyIds and then
+// re-add activeVacancies, so one event covers a whole sweep chunk or change-log poll.
+@Getter
+@ToString
+@AllArgsConstructor
+public class JobVacancyChangedEvent {
+
+    private final Set<Long> vacancyIds;
+    // Current rows of the changed vacancies that are still active.
+    private final List<JobVacancy> activeVacancies;
+
+    public static JobVacancyChangedEvent of(JobVacancy vacancy) {
+        return changed(List.of(vacancy));
+    }
+
+    public static JobVacancyChangedEvent changed(Collection<JobVacancy> vacancies) {
+        Set<Long> ids = new LinkedHashSet<>();
+        vacancies.forEach(vacancy -> ids.add(vacancy.getId()));
+        List<JobVacancy> active = vacancies.stream()
+                .filter(vacancy -> Boolean.TRUE.equals(vacancy.getIsActive()))
+                .toList();
+        return new JobVacancyChangedEvent(ids, active);
+    }
+
+    // For bulk updates that closed rows without loading them.
+    public static JobVacancyChangedEvent deactivated(Collection<Long> vacancyIds) {
+        return new JobVacancyChangedEvent(new LinkedHashSet<>(vacancyIds), List.of());
+    }
+}
@@ -0,0 +1,17 @@
+package com.career.portal.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReferralCreatedEvent implements DomainEvent {
+    private Long referralId;
+    private Long referrerId;
+    private Long referredUserId;
+    private Long jobVacancyId;
+}
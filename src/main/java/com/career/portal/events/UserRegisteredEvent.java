@@ -0,0 +1,15 @@
+package com.career.portal.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRegisteredEvent implements DomainEvent {
+    private Long userId;
+    private String email;
+}
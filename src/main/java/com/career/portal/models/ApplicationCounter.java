@@ -0,0 +1,38 @@
+package com.career.portal.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+// Shared counts served by ApplicationCounterService: seeded once from job_applications, then advanced by deltas
+// and corrected by a periodic recount.
+@Entity
+@Table(name = "application_counters")
+@IdClass(ApplicationCounter.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationCounter {
+    @Id
+    @Column(name = "job_vacancy_id")
+    private Long jobVacancyId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private ApplicationStatus status;
+
+    @Column(name = "application_count", nullable = false)
+    private long applicationCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long jobVacancyId;
+        private ApplicationStatus status;
+    }
+}
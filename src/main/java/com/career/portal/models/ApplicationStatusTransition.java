@@ -0,0 +1,54 @@
+package com.career.portal.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Append-only: one row per status change, written by StatusHistoryService and never updated.
+@Entity
+@Table(name = "application_status_history", indexes = {
+        @Index(name = "idx_status_history_application", columnList = "application_id, changed_at"),
+        @Index(name = "idx_status_history_vacancy", columnList = "job_vacancy_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationStatusTransition {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "application_id", nullable = false)
+    private Long applicationId;
+
+    @Column(name = "job_vacancy_id", nullable = false)
+    private Long jobVacancyId;
+
+    @Column(name = "recruiter_id")
+    private Long recruiterId;
+
+    // Null for the submission itself.
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", length = 32)
+    private ApplicationStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", length = 32, nullable = false)
+    private ApplicationStatus toStatus;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    @Column(name = "changed_by")
+    private Long changedBy;
+
+    // Time spent in fromStatus before this change, and its histogram bucket.
+    @Column(name = "stage_seconds")
+    private Long stageSeconds;
+
+    @Column(name = "stage_bucket")
+    private Integer stageBucket;
+}
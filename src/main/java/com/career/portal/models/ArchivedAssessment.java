@@ -0,0 +1,46 @@
+package com.career.portal.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Cold copy of an assessments row; the assessment_questions links are folded into questionIds.
+@Entity
+@Table(name = "assessments_archive", indexes = {
+        @Index(name = "idx_assessments_archive_application", columnList = "job_application_id"),
+        @Index(name = "idx_assessments_archive_token", columnList = "assessment_token", unique = true)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedAssessment {
+    @Id
+    private Long id;
+
+    @Column(name = "job_application_id", nullable = false)
+    private Long jobApplicationId;
+
+    @Column(name = "assessment_token", nullable = false)
+    private String assessmentToken;
+
+    // Comma-separated question ids.
+    @Column(name = "question_ids")
+    private String questionIds;
+
+    private Integer score;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "candidate_code", columnDefinition = "TEXT")
+    private String candidateCode;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,55 @@
+package com.career.portal.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Cold copy of a job_applications row, moved by ApplicationArchiveService. Keeps the live id; no foreign keys.
+@Entity
+@Table(name = "job_applications_archive", indexes = {
+        @Index(name = "idx_applications_archive_user", columnList = "user_id"),
+        @Index(name = "idx_applications_archive_vacancy", columnList = "job_vacancy_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedJobApplication {
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "job_vacancy_id", nullable = false)
+    private Long jobVacancyId;
+
+    @Column(name = "cover_letter", columnDefinition = "TEXT")
+    private String coverLetter;
+
+    @Enumerated(EnumType.STRING)
+    private ApplicationStatus status;
+
+    @Column(name = "applied_at")
+    private LocalDateTime appliedAt;
+
+    @Column(name = "reviewed_at")
+    private LocalDateTime reviewedAt;
+
+    @Column(name = "reviewed_by")
+    private Long reviewedBy;
+
+    @Column(columnDefinition = "TEXT")
+    private String notes;
+
+    @Column(name = "has_referral")
+    private Boolean hasReferral;
+
+    @Column(name = "assessment_score")
+    private Integer assessmentScore;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
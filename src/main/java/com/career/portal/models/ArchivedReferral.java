@@ -0,0 +1,46 @@
+package com.career.portal.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Cold copy of a referrals row. Keeps the live id; no foreign keys.
+@Entity
+@Table(name = "referrals_archive", indexes = {
+        @Index(name = "idx_referrals_archive_referrer", columnList = "referrer_id"),
+        @Index(name = "idx_referrals_archive_referred", columnList = "referred_user_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedReferral {
+    @Id
+    private Long id;
+
+    @Column(name = "referrer_id", nullable = false)
+    private Long referrerId;
+
+    @Column(name = "referred_user_id", nullable = false)
+    private Long referredUserId;
+
+    @Column(name = "job_vacancy_id", nullable = false)
+    private Long jobVacancyId;
+
+    @Enumerated(EnumType.STRING)
+    private ReferralStatus status;
+
+    @Column(columnDefinition = "TEXT")
+    private String message;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "accepted_at")
+    private LocalDateTime acceptedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -11,7 +11,9 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "job_applications")
+@Table(name = "job_applications", indexes = {
+        @Index(name = "idx_job_applications_vacancy_applied", columnList = "job_vacancy_id, applied_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
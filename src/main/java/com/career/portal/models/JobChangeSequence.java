@@ -0,0 +1,20 @@
+package com.career.portal.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Single-row counter behind JobVacancy.changeSeq; updated only through JobChangeSequenceService.
+@Entity
+@Table(name = "job_change_sequence")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobChangeSequence {
+    @Id
+    private Integer id;
+
+    @Column(name = "last_value", nullable = false)
+    private long lastValue;
+}
@@ -13,7 +13,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "job_vacancy")
+@Table(name = "job_vacancy", indexes = {
+        @Index(name = "idx_job_vacancy_active_posted", columnList = "is_active, posted_at, id"),
+        @Index(name = "idx_job_vacancy_active_deadline", columnList = "is_active, application_deadline"),
+        @Index(name = "idx_job_vacancy_change_seq", columnList = "change_seq, id"),
+        @Index(name = "idx_job_vacancy_closed", columnList = "is_active, archived_at, closed_at")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -54,12 +59,28 @@ public class JobVacancy {
     @Column(name = "posted_by")
     private Long postedBy;
 
-    @Column(name = "posted_at")
+    // Set once on insert; updates keep the stored value.
+    @Column(name = "posted_at", updatable = false)
     private LocalDateTime postedAt;
 
     @Column(name = "application_deadline")
     private LocalDateTime applicationDeadline;
 
+    // Position in the job change log; see JobChangeSequence.
+    @JsonIgnore
+    @Column(name = "change_seq", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long changeSeq = 0;
+
+    // Written only by native updates in JobVacancyRepository, so saving a vacancy from a request body never clears them.
+    @JsonIgnore
+    @Column(name = "closed_at", insertable = false, updatable = false)
+    private LocalDateTime closedAt;
+
+    // Set once ApplicationArchiveService has moved the vacancy's applications to the archive tables.
+    @JsonIgnore
+    @Column(name = "archived_at", insertable = false, updatable = false)
+    private LocalDateTime archivedAt;
+
     @OneToMany(mappedBy = "jobVacancy", cascade = CascadeType.ALL)
     @JsonIgnore
     @ToString.Exclude
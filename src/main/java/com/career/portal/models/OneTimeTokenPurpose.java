@@ -0,0 +1,6 @@
+package com.career.portal.models;
+
+public enum OneTimeTokenPurpose {
+    EMAIL_VERIFICATION,
+    PASSWORD_RESET
+}
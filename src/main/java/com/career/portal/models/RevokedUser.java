@@ -0,0 +1,25 @@
+package com.career.portal.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// A deleted user whose access tokens may still be unexpired. Kept until the last of them runs out.
+@Entity
+@Table(name = "revoked_users", indexes = {
+        @Index(name = "idx_revoked_users_expiry", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedUser {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,29 @@
+package com.career.portal.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// The latest token version bump of a user, kept while access tokens issued under the old version may still be
+// unexpired so that every node picks it up. The version itself stays on users.token_version.
+@Entity
+@Table(name = "token_version_changes", indexes = {
+        @Index(name = "idx_token_version_changes_expiry", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenVersionChange {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
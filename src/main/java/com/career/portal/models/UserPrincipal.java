@@ -0,0 +1,9 @@
+package com.career.portal.models;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+public interface UserPrincipal extends UserDetails {
+    Long getId();
+
+    UserRole getRole();
+}
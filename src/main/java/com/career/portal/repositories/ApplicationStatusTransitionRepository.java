@@ -0,0 +1,26 @@
+package com.career.portal.repositories;
+
+import com.career.portal.models.ApplicationStatusTransition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ApplicationStatusTransitionRepository extends JpaRepository<ApplicationStatusTransition, Long> {
+
+    @Query("SELECT t.jobVacancyId, t.recruiterId, t.fromStatus, t.toStatus, t.stageBucket, COUNT(t) " +
+            "FROM ApplicationStatusTransition t WHERE t.id > :afterId AND t.id <= :upToId " +
+            "GROUP BY t.jobVacancyId, t.recruiterId, t.fromStatus, t.toStatus, t.stageBucket")
+    List<Object[]> countByVacancyAndTransition(@Param("afterId") long afterId, @Param("upToId") long upToId);
+
+    // Walks the primary key from the cursor, so only rows written since the last sync are read.
+    @Query("SELECT t FROM ApplicationStatusTransition t WHERE t.id > :afterId ORDER BY t.id")
+    List<ApplicationStatusTransition> findAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(t.id), 0) FROM ApplicationStatusTransition t")
+    long findMaxId();
+}
@@ -0,0 +1,12 @@
+package com.career.portal.repositories;
+
+import com.career.portal.models.ArchivedAssessment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ArchivedAssessmentRepository extends JpaRepository<ArchivedAssessment, Long> {
+    Optional<ArchivedAssessment> findByAssessmentToken(String assessmentToken);
+}
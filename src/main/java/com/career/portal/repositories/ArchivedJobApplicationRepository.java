@@ -0,0 +1,68 @@
+package com.career.portal.repositories;
+
+import com.career.portal.dto.ApplicantSummary;
+import com.career.portal.models.ApplicationStatus;
+import com.career.portal.models.ArchivedJobApplication;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+// Mirrors the vacancy-scoped reads of JobApplicationRepository; archive rows only keep user ids, so users are joined by id.
+@Repository
+public interface ArchivedJobApplicationRepository extends JpaRepository<ArchivedJobApplication, Long> {
+
+    String SELECT_APPLICANT = "SELECT new com.career.portal.dto.ApplicantSummary(" +
+            "ja.id, u.id, u.firstName, u.lastName, u.email, u.profileScore, ja.status, ja.appliedAt, " +
+            "ja.reviewedAt, ja.hasReferral, ja.assessmentScore) " +
+            "FROM ArchivedJobApplication ja JOIN User u ON u.id = ja.userId WHERE ja.jobVacancyId = :jobVacancyId ";
+
+    String BY_SCORE = "ORDER BY u.profileScore DESC, ja.id DESC";
+    String BY_DATE = "ORDER BY ja.appliedAt DESC, ja.id DESC";
+    String AFTER_DATE = "AND (ja.appliedAt < :appliedAt OR (ja.appliedAt = :appliedAt AND ja.id < :id)) ";
+
+    List<ArchivedJobApplication> findByUserId(Long userId);
+
+    List<ArchivedJobApplication> findByJobVacancyId(Long jobVacancyId);
+
+    List<ArchivedJobApplication> findByStatus(ApplicationStatus status);
+
+    @Query("SELECT ja.jobVacancyId, ja.status, COUNT(ja) FROM ArchivedJobApplication ja GROUP BY ja.jobVacancyId, ja.status")
+    List<Object[]> countByVacancyAndStatus();
+
+    // Same row layout as JobApplicationRepository.SELECT_RANKING.
+    @Query("SELECT ja.id, ja.jobVacancyId, u.profileScore, ja.assessmentScore, ja.hasReferral, ja.appliedAt, ja.status " +
+            "FROM ArchivedJobApplication ja JOIN User u ON u.id = ja.userId WHERE ja.jobVacancyId = :jobVacancyId")
+    List<Object[]> findRankingRowsByVacancy(@Param("jobVacancyId") Long jobVacancyId);
+
+    @Query(SELECT_APPLICANT + "AND ja.id IN :ids")
+    List<ApplicantSummary> findApplicantsByIdIn(@Param("jobVacancyId") Long jobVacancyId, @Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_APPLICANT + BY_DATE)
+    List<ApplicantSummary> findApplicantsByDate(@Param("jobVacancyId") Long jobVacancyId, Pageable pageable);
+
+    @Query(SELECT_APPLICANT + AFTER_DATE + BY_DATE)
+    List<ApplicantSummary> findApplicantsByDateAfter(@Param("jobVacancyId") Long jobVacancyId,
+                                                     @Param("appliedAt") LocalDateTime appliedAt,
+                                                     @Param("id") Long id,
+                                                     Pageable pageable);
+
+    // Callers must consume these inside a transaction and close the stream.
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(SELECT_APPLICANT + BY_SCORE)
+    Stream<ApplicantSummary> streamApplicantsByScore(@Param("jobVacancyId") Long jobVacancyId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(SELECT_APPLICANT + BY_DATE)
+    Stream<ApplicantSummary> streamApplicantsByDate(@Param("jobVacancyId") Long jobVacancyId);
+}
@@ -0,0 +1,12 @@
+package com.career.portal.repositories;
+
+import com.career.portal.models.ArchivedReferral;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedReferralRepository extends JpaRepository<ArchivedReferral, Long> {
+    List<ArchivedReferral> findByReferrerId(Long referrerId);
+}
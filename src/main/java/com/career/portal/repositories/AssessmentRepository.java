@@ -2,9 +2,14 @@ package com.career.portal.repositories;
 
 import com.career.portal.models.Assessment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface AssessmentRepository extends JpaRepository<Assessment,Long> {
     Optional<Assessment> findByAssessmentToken(String assessmentToken);
+
+    @Query("SELECT a.assessmentToken FROM Assessment a WHERE a.jobApplication.id = :applicationId")
+    Optional<String> findTokenByJobApplicationId(@Param("applicationId") Long applicationId);
 }
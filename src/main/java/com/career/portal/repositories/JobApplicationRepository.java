@@ -1,28 +1,51 @@
 package com.career.portal.repositories;
 
+import com.career.portal.dto.ApplicantSummary;
 import com.career.portal.models.ApplicationStatus;
 import com.career.portal.models.JobApplication;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface JobApplicationRepository extends JpaRepository<JobApplication, Long> {
+
+    String SELECT_APPLICANT = "SELECT new com.career.portal.dto.ApplicantSummary(" +
+            "ja.id, u.id, u.firstName, u.lastName, u.email, u.profileScore, ja.status, ja.appliedAt, " +
+            "ja.reviewedAt, ja.hasReferral, ja.assessmentScore) " +
+            "FROM JobApplication ja JOIN ja.user u WHERE ja.jobVacancy.id = :jobVacancyId ";
+
+    String BY_SCORE = "ORDER BY u.profileScore DESC, ja.id DESC";
+    String BY_DATE = "ORDER BY ja.appliedAt DESC, ja.id DESC";
+    String AFTER_DATE = "AND (ja.appliedAt < :appliedAt OR (ja.appliedAt = :appliedAt AND ja.id < :id)) ";
+
+    String SELECT_RANKING = "SELECT ja.id, ja.jobVacancy.id, u.profileScore, ja.assessmentScore, ja.hasReferral, ja.appliedAt, ja.status " +
+            "FROM JobApplication ja JOIN ja.user u ";
+
     List<JobApplication> findByUserId(Long UsedId);
 
     List<JobApplication> findByJobVacancyId(Long JobVacancyId);
 
     List<JobApplication> findByStatus(ApplicationStatus status);
 
-    @Query("SELECT ja FROM JobApplication ja WHERE ja.jobVacancy.id =  :jobVacancyId ORDER BY ja.user.profileScore DESC")
-    List<JobApplication> findByJobVacancyIdOrderByProfileScoreDesc(@Param("jobVacancyId") Long jobVacancyId);
-
-    @Query("SELECT ja FROM JobApplication ja WHERE ja.jobVacancy.id = :jobVacancyId ORDER BY ja.appliedAt DESC")
-    List<JobApplication> findByJobVacancyIdOrderByAppliedAtDesc(@Param("jobVacancyId") Long jobVacancyId);
+    // Held until commit, so two status changes of one application apply one after the other.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT ja FROM JobApplication ja WHERE ja.id = :id")
+    Optional<JobApplication> findByIdForUpdate(@Param("id") Long id);
 
     Optional<JobApplication> findByUserIdAndJobVacancyId(Long userId, Long jobVacancyId);
 
@@ -34,6 +57,47 @@ public interface JobApplicationRepository extends JpaRepository<JobApplication,
     @Query("SELECT COUNT(ja) FROM JobApplication ja WHERE ja.jobVacancy.id = :jobVacancyId")
     Long countApplicationsByJobVacancy(@Param("jobVacancyId") Long jobVacancyId);
 
+    @Query("SELECT ja.jobVacancy.id, ja.status, COUNT(ja) FROM JobApplication ja GROUP BY ja.jobVacancy.id, ja.status")
+    List<Object[]> countByVacancyAndStatus();
+
+    @Query(SELECT_RANKING + "WHERE ja.jobVacancy.id = :jobVacancyId")
+    List<Object[]> findRankingRowsByVacancy(@Param("jobVacancyId") Long jobVacancyId);
+
+    @Query(SELECT_RANKING + "WHERE ja.id = :id")
+    List<Object[]> findRankingRowById(@Param("id") Long id);
+
+    @Query("SELECT DISTINCT ja.jobVacancy.id FROM JobApplication ja WHERE ja.user.id = :userId")
+    List<Long> findVacancyIdsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT ja.id, ja.jobVacancy.id, ja.status, ja.appliedAt, ja.reviewedAt, ja.jobVacancy.postedBy " +
+            "FROM JobApplication ja WHERE ja.id IN :ids")
+    List<Object[]> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT ja FROM JobApplication ja JOIN FETCH ja.user JOIN FETCH ja.jobVacancy WHERE ja.id IN :ids")
+    List<JobApplication> findWithUserAndVacancyByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_APPLICANT + "AND ja.id IN :ids")
+    List<ApplicantSummary> findApplicantsByIdIn(@Param("jobVacancyId") Long jobVacancyId, @Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_APPLICANT + BY_DATE)
+    List<ApplicantSummary> findApplicantsByDate(@Param("jobVacancyId") Long jobVacancyId, Pageable pageable);
+
+    // Keyset page after the last (appliedAt, id) of the previous page, newest first.
+    @Query(SELECT_APPLICANT + AFTER_DATE + BY_DATE)
+    List<ApplicantSummary> findApplicantsByDateAfter(@Param("jobVacancyId") Long jobVacancyId,
+                                                     @Param("appliedAt") LocalDateTime appliedAt,
+                                                     @Param("id") Long id,
+                                                     Pageable pageable);
+
+    // Callers must consume these inside a transaction and close the stream.
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(SELECT_APPLICANT + BY_SCORE)
+    Stream<ApplicantSummary> streamApplicantsByScore(@Param("jobVacancyId") Long jobVacancyId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(SELECT_APPLICANT + BY_DATE)
+    Stream<ApplicantSummary> streamApplicantsByDate(@Param("jobVacancyId") Long jobVacancyId);
+
 
 
 }
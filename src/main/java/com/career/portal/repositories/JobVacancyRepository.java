@@ -1,18 +1,29 @@
 package com.career.portal.repositories;
 
+import com.career.portal.dto.JobVacancySummary;
 import com.career.portal.models.ExperienceLevel;
 import com.career.portal.models.JobType;
 import com.career.portal.models.JobVacancy;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface JobVacancyRepository extends JpaRepository<JobVacancy, Long> {
+
+    String SELECT_SUMMARY = "SELECT new com.career.portal.dto.JobVacancySummary(" +
+            "jv.id, jv.title, jv.location, jv.jobType, jv.experienceLevel, jv.minSalary, jv.maxSalary, " +
+            "jv.applicationDeadline, jv.postedAt, jv.isActive) FROM JobVacancy jv ";
+
     List<JobVacancy> findByIsActiveTrue();
 
     List<JobVacancy> findByIsActiveTrueOrderByPostedAtDesc();
@@ -27,11 +38,100 @@ public interface JobVacancyRepository extends JpaRepository<JobVacancy, Long> {
     @Query("SELECT jv FROM JobVacancy jv WHERE jv.isActive = true AND jv.applicationDeadline > :currentDate")
     List<JobVacancy> findActiveVacanciesWithinDeadline(@Param("currentDate") LocalDateTime currentDate);
 
-    @Query("SELECT jv FROM JobVacancy jv WHERE jv.isActive = true AND " +
+    @Query("SELECT jv FROM JobVacancy jv WHERE jv.isActive = true AND (" +
             "LOWER(jv.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(jv.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+            "LOWER(jv.description) LIKE LOWER(CONCAT('%', :keyword, '%')))")
     List<JobVacancy> searchByKeyword(@Param("keyword") String keyword);
 
     List<JobVacancy> findByPostedBy(Long recruiterId);
 
+    @Query("SELECT jv.postedBy FROM JobVacancy jv WHERE jv.id = :id")
+    Optional<Long> findPostedById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(jv) > 0 FROM JobVacancy jv WHERE jv.id = :id AND jv.archivedAt IS NOT NULL")
+    boolean isArchived(@Param("id") Long id);
+
+    @Query(SELECT_SUMMARY + "WHERE jv.isActive = true ORDER BY jv.postedAt DESC")
+    List<JobVacancySummary> findActiveSummaries();
+
+    @Query(SELECT_SUMMARY + "WHERE jv.postedBy = :recruiterId")
+    List<JobVacancySummary> findSummariesByPostedBy(@Param("recruiterId") Long recruiterId);
+
+    @Query(SELECT_SUMMARY + "WHERE jv.isActive = true " +
+            "AND (:jobType IS NULL OR jv.jobType = :jobType) " +
+            "AND (:experienceLevel IS NULL OR jv.experienceLevel = :experienceLevel) " +
+            "ORDER BY jv.postedAt DESC, jv.id DESC")
+    List<JobVacancySummary> findActivePage(@Param("jobType") JobType jobType,
+                                           @Param("experienceLevel") ExperienceLevel experienceLevel,
+                                           Pageable pageable);
+
+    // MySQL sorts a null postedAt last in DESC order, so those rows follow every dated one and page by id.
+    @Query(SELECT_SUMMARY + "WHERE jv.isActive = true " +
+            "AND (:jobType IS NULL OR jv.jobType = :jobType) " +
+            "AND (:experienceLevel IS NULL OR jv.experienceLevel = :experienceLevel) " +
+            "AND (jv.postedAt < :postedAt OR (jv.postedAt = :postedAt AND jv.id < :id) " +
+            "OR (jv.postedAt IS NULL AND (:postedAt IS NOT NULL OR jv.id < :id))) " +
+            "ORDER BY jv.postedAt DESC, jv.id DESC")
+    List<JobVacancySummary> findActivePageAfter(@Param("jobType") JobType jobType,
+                                                @Param("experienceLevel") ExperienceLevel experienceLevel,
+                                                @Param("postedAt") LocalDateTime postedAt,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
+
+    @Query("SELECT jv.id FROM JobVacancy jv WHERE jv.isActive = true AND jv.applicationDeadline < :now ORDER BY jv.id")
+    List<Long> findExpiredActiveIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT jv.id FROM JobVacancy jv WHERE jv.isActive = true AND jv.id IN :ids")
+    List<Long> findActiveIdsIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset over the change log; one sweep chunk shares a change_seq, so id breaks the tie.
+    @Query("SELECT jv FROM JobVacancy jv WHERE jv.changeSeq > :seq OR (jv.changeSeq = :seq AND jv.id > :id) " +
+            "ORDER BY jv.changeSeq, jv.id")
+    List<JobVacancy> findChangedAfter(@Param("seq") long seq, @Param("id") long id, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(jv.changeSeq), 0) FROM JobVacancy jv")
+    long findMaxChangeSeq();
+
+    // Re-checks the deadline so a vacancy extended since it was selected stays open.
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE job_vacancy SET is_active = false, change_seq = :changeSeq, closed_at = :now " +
+            "WHERE id IN (:ids) AND is_active = true AND application_deadline < :now", nativeQuery = true)
+    int closeExpired(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now, @Param("changeSeq") long changeSeq);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE job_vacancy SET closed_at = :now WHERE id = :id AND closed_at IS NULL", nativeQuery = true)
+    int markClosed(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE job_vacancy SET closed_at = NULL WHERE id = :id AND closed_at IS NOT NULL", nativeQuery = true)
+    int clearClosed(@Param("id") Long id);
+
+    // Vacancies closed before closed_at existed are treated as closing now.
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE job_vacancy SET closed_at = :now WHERE is_active = false AND closed_at IS NULL", nativeQuery = true)
+    int stampUntrackedClosures(@Param("now") LocalDateTime now);
+
+    @Query(value = "SELECT id FROM job_vacancy WHERE is_active = false AND archived_at IS NULL AND closed_at < :cutoff " +
+            "ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    // One row per vacancy and application status; vacancies without applications come back with a null status.
+    @Query("SELECT jv.id, jv.title, jv.isActive, ja.status, COUNT(ja), MAX(ja.appliedAt), " +
+            "SUM(ja.assessmentScore), COUNT(ja.assessmentScore) " +
+            "FROM JobVacancy jv LEFT JOIN jv.applications ja " +
+            "WHERE jv.postedBy = :recruiterId " +
+            "GROUP BY jv.id, jv.title, jv.isActive, ja.status")
+    List<Object[]> findApplicationStatsByRecruiter(@Param("recruiterId") Long recruiterId);
+
+    // Same layout as above for the applications of archived vacancies, which only the archive holds.
+    @Query("SELECT jv.id, jv.title, jv.isActive, a.status, COUNT(a), MAX(a.appliedAt), " +
+            "SUM(a.assessmentScore), COUNT(a.assessmentScore) " +
+            "FROM JobVacancy jv JOIN ArchivedJobApplication a ON a.jobVacancyId = jv.id " +
+            "WHERE jv.postedBy = :recruiterId AND jv.archivedAt IS NOT NULL " +
+            "GROUP BY jv.id, jv.title, jv.isActive, a.status")
+    List<Object[]> findArchivedApplicationStatsByRecruiter(@Param("recruiterId") Long recruiterId);
 }
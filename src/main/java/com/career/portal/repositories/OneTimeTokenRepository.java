@@ -0,0 +1,26 @@
+package com.career.portal.repositories;
+
+import com.career.portal.models.OneTimeToken;
+import com.career.portal.models.OneTimeTokenPurpose;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OneTimeTokenRepository extends JpaRepository<OneTimeToken, Long> {
+    Optional<OneTimeToken> findByTokenHashAndPurpose(String tokenHash, OneTimeTokenPurpose purpose);
+
+    @Modifying
+    @Query("DELETE FROM OneTimeToken t WHERE t.userId = :userId AND t.purpose = :purpose")
+    int deleteByUserIdAndPurpose(@Param("userId") Long userId, @Param("purpose") OneTimeTokenPurpose purpose);
+
+    @Query("SELECT t.id FROM OneTimeToken t WHERE t.expiresAt < :now ORDER BY t.id")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Pageable pageable);
+}
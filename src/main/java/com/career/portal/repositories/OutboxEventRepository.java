@@ -0,0 +1,54 @@
+package com.career.portal.repositories;
+
+import com.career.portal.models.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Whoever flips the claim delivers the event; a claim that lapses lets the relay try again.
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimedUntil = :until, e.attempts = e.attempts + 1 " +
+            "WHERE e.id = :id AND e.dispatchedAt IS NULL AND (e.claimedUntil IS NULL OR e.claimedUntil < :now)")
+    int claim(@Param("id") Long id,
+              @Param("now") LocalDateTime now,
+              @Param("until") LocalDateTime until);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.dispatchedAt = :now WHERE e.id = :id")
+    int markDispatched(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.lastError = :error WHERE e.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("error") String error);
+
+    @Query("SELECT e FROM OutboxEvent e WHERE e.dispatchedAt IS NULL AND e.createdAt < :before " +
+            "AND e.attempts < :maxAttempts AND (e.claimedUntil IS NULL OR e.claimedUntil < :now) ORDER BY e.id")
+    List<OutboxEvent> findPending(@Param("before") LocalDateTime before,
+                                  @Param("now") LocalDateTime now,
+                                  @Param("maxAttempts") int maxAttempts,
+                                  Pageable pageable);
+
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id > :afterId ORDER BY e.id")
+    List<OutboxEvent> findAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM OutboxEvent e")
+    long findMaxId();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.dispatchedAt < :before")
+    int deleteDispatchedBefore(@Param("before") LocalDateTime before);
+}
@@ -33,4 +33,7 @@ public interface ReferralRepository extends JpaRepository<Referral, Long> {
     List<Referral> findExpiredReferrals(@Param("expiryData") LocalDateTime expiryData);
 
     Optional<Referral> findByReferredUserIdAndJobVacancyId(Long userId, Long jobVacancyId);
+
+    @Query("SELECT r FROM Referral r JOIN FETCH r.referrer JOIN FETCH r.referredUser JOIN FETCH r.jobVacancy WHERE r.id = :id")
+    Optional<Referral> findWithPartiesById(@Param("id") Long id);
 }
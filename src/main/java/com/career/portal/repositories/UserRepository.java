@@ -24,8 +24,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmail(String email);
 
-    Optional<User> findByVerificationToken(String verificationToken);
-
-    Optional<User> findByResetToken(String resetToken);
+    @Query("SELECT u.id, u.tokenVersion FROM User u WHERE u.tokenVersion > 0")
+    List<Object[]> findNonZeroTokenVersions();
 
 }
@@ -0,0 +1,88 @@
+package com.career.portal.services;
+
+import com.career.portal.models.RevokedAccessToken;
+import com.career.portal.repositories.RevokedAccessTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccessTokenRevocationList {
+
+    private final RevokedAccessTokenRepository revokedAccessTokenRepository;
+
+    @Value("${jwt.revocation.expected-entries:100000}")
+    private int expectedEntries;
+
+    @Value("${jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // jti -> expiry in epoch millis
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    @PostConstruct
+    void init() {
+        reload();
+    }
+
+    // The Bloom filter answers "definitely not revoked" for almost every live token
+    // without touching the map; only possible hits pay for the exact lookup.
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        return filter.mightContain(jti) && revoked.containsKey(jti);
+    }
+
+    public synchronized void revoke(String jti, Date expiresAt) {
+        if (jti == null || expiresAt == null || expiresAt.before(new Date())) {
+            return;
+        }
+        LocalDateTime expiry = LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault());
+        revokedAccessTokenRepository.save(new RevokedAccessToken(jti, expiry));
+        revoked.put(jti, expiresAt.getTime());
+        filter.put(jti);
+    }
+
+    // Also picks up revocations written by other nodes.
+    @Scheduled(fixedDelayString = "${jwt.revocation.reload-interval-ms:60000}",
+            initialDelayString = "${jwt.revocation.reload-interval-ms:60000}")
+    public synchronized void reload() {
+        LocalDateTime now = LocalDateTime.now();
+        revokedAccessTokenRepository.deleteExpired(now);
+
+        ConcurrentHashMap<String, Long> current = new ConcurrentHashMap<>();
+        for (RevokedAccessToken token : revokedAccessTokenRepository.findByExpiresAtAfter(now)) {
+            current.put(token.getJti(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        long nowMillis = System.currentTimeMillis();
+        revoked.forEach((jti, expiry) -> {
+            if (expiry > nowMillis) {
+                current.putIfAbsent(jti, expiry);
+            }
+        });
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, current.size() * 2), falsePositiveRate);
+        current.keySet().forEach(rebuilt::put);
+
+        revoked.keySet().retainAll(current.keySet());
+        revoked.putAll(current);
+        filter = rebuilt;
+        log.debug("Access token revocation list rebuilt with {} entries", current.size());
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+}
@@ -0,0 +1,217 @@
+package com.career.portal.services;
+
+import com.career.portal.models.ApplicationStatus;
+import com.career.portal.models.ArchivedAssessment;
+import com.career.portal.models.ArchivedJobApplication;
+import com.career.portal.models.ArchivedReferral;
+import com.career.portal.models.Assessment;
+import com.career.portal.models.JobApplication;
+import com.career.portal.models.Question;
+import com.career.portal.models.Referral;
+import com.career.portal.repositories.ArchivedAssessmentRepository;
+import com.career.portal.repositories.ArchivedJobApplicationRepository;
+import com.career.portal.repositories.ArchivedReferralRepository;
+import com.career.portal.repositories.JobVacancyRepository;
+import com.career.portal.repositories.QuestionRepository;
+import com.career.portal.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Moves applications, assessments and referrals of long-closed vacancies out of the hot tables into
+// *_archive tables, and serves archived rows to the read paths that miss on the live tables.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ApplicationArchiveService {
+
+    static final String LEASE_NAME = "application-archiver";
+
+    private static final String ARCHIVE_REFERRALS =
+            "INSERT INTO referrals_archive (id, referrer_id, referred_user_id, job_vacancy_id, status, message, " +
+            "created_at, accepted_at, archived_at) " +
+            "SELECT id, referrer_id, referred_user_id, job_vacancy_id, status, message, created_at, accepted_at, :now " +
+            "FROM referrals WHERE job_vacancy_id IN (:ids)";
+
+    private static final String ARCHIVE_ASSESSMENTS =
+            "INSERT INTO assessments_archive (id, job_application_id, assessment_token, question_ids, score, " +
+            "completed_at, expires_at, candidate_code, archived_at) " +
+            "SELECT a.id, a.job_application_id, a.assessment_token, " +
+            "(SELECT GROUP_CONCAT(aq.question_id) FROM assessment_questions aq WHERE aq.assessment_id = a.id), " +
+            "a.score, a.completed_at, a.expires_at, a.candidate_code, :now " +
+            "FROM assessments a JOIN job_applications ja ON ja.id = a.job_application_id WHERE ja.job_vacancy_id IN (:ids)";
+
+    private static final String ARCHIVE_APPLICATIONS =
+            "INSERT INTO job_applications_archive (id, user_id, job_vacancy_id, cover_letter, status, applied_at, " +
+            "reviewed_at, reviewed_by, notes, has_referral, assessment_score, archived_at) " +
+            "SELECT id, user_id, job_vacancy_id, cover_letter, status, applied_at, reviewed_at, reviewed_by, notes, " +
+            "has_referral, assessment_score, :now FROM job_applications WHERE job_vacancy_id IN (:ids)";
+
+    private final JobVacancyRepository jobVacancyRepository;
+    private final UserRepository userRepository;
+    private final ArchivedJobApplicationRepository archivedJobApplicationRepository;
+    private final ArchivedReferralRepository archivedReferralRepository;
+    private final ArchivedAssessmentRepository archivedAssessmentRepository;
+    private final QuestionRepository questionRepository;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${applications.archive.after-days:180}")
+    private int archiveAfterDays;
+
+    @Value("${applications.archive.vacancies-per-chunk:20}")
+    private int vacanciesPerChunk;
+
+    @Value("${applications.archive.lease-seconds:1800}")
+    private long leaseSeconds;
+
+    // Each chunk of vacancies is copied and deleted in its own transaction, children before parents.
+    @Scheduled(cron = "${applications.archive.cron:0 30 3 * * *}")
+    public void archiveClosedVacancies() {
+        if (!schedulerLeaseService.tryAcquire(LEASE_NAME, Duration.ofSeconds(leaseSeconds))) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        jobVacancyRepository.stampUntrackedClosures(now);
+        LocalDateTime cutoff = now.minusDays(archiveAfterDays);
+        int vacancies = 0;
+        int applications = 0;
+        List<Long> ids;
+        do {
+            ids = jobVacancyRepository.findArchivableIds(cutoff, vacanciesPerChunk);
+            if (ids.isEmpty()) {
+                break;
+            }
+            Map<String, Object> params = Map.of("ids", ids, "now", Timestamp.valueOf(now));
+            Integer moved = transactionTemplate.execute(status -> {
+                namedJdbcTemplate.update(ARCHIVE_REFERRALS, params);
+                namedJdbcTemplate.update("DELETE FROM referrals WHERE job_vacancy_id IN (:ids)", params);
+                namedJdbcTemplate.update(ARCHIVE_ASSESSMENTS, params);
+                namedJdbcTemplate.update("DELETE aq FROM assessment_questions aq " +
+                        "JOIN assessments a ON a.id = aq.assessment_id " +
+                        "JOIN job_applications ja ON ja.id = a.job_application_id WHERE ja.job_vacancy_id IN (:ids)", params);
+                namedJdbcTemplate.update("DELETE a FROM assessments a " +
+                        "JOIN job_applications ja ON ja.id = a.job_application_id WHERE ja.job_vacancy_id IN (:ids)", params);
+                int copied = namedJdbcTemplate.update(ARCHIVE_APPLICATIONS, params);
+                namedJdbcTemplate.update("DELETE FROM job_applications WHERE job_vacancy_id IN (:ids)", params);
+                namedJdbcTemplate.update("UPDATE job_vacancy SET archived_at = :now WHERE id IN (:ids)", params);
+                return copied;
+            });
+            vacancies += ids.size();
+            applications += moved == null ? 0 : moved;
+        } while (ids.size() == vacanciesPerChunk);
+
+        if (vacancies > 0) {
+            log.info("Archived {} applications from {} vacancies closed before {}", applications, vacancies, cutoff);
+        }
+    }
+
+    // Archiving moves a vacancy's applications all at once, so vacancy-scoped reads go to one side or the other.
+    public boolean isArchived(Long jobVacancyId) {
+        return jobVacancyRepository.isArchived(jobVacancyId);
+    }
+
+    public Optional<JobApplication> findApplication(Long id) {
+        return archivedJobApplicationRepository.findById(id).map(this::toJobApplication);
+    }
+
+    public List<JobApplication> findApplicationsByUser(Long userId) {
+        return archivedJobApplicationRepository.findByUserId(userId).stream().map(this::toJobApplication).toList();
+    }
+
+    public List<JobApplication> findApplicationsByVacancy(Long jobVacancyId) {
+        return archivedJobApplicationRepository.findByJobVacancyId(jobVacancyId).stream().map(this::toJobApplication).toList();
+    }
+
+    public List<JobApplication> findApplicationsByStatus(ApplicationStatus status) {
+        return archivedJobApplicationRepository.findByStatus(status).stream().map(this::toJobApplication).toList();
+    }
+
+    public Optional<Referral> findReferral(Long id) {
+        return archivedReferralRepository.findById(id).map(this::toReferral);
+    }
+
+    public List<Referral> findReferralsByReferrer(Long referrerId) {
+        return archivedReferralRepository.findByReferrerId(referrerId).stream().map(this::toReferral).toList();
+    }
+
+    public Optional<Assessment> findAssessmentByToken(String token) {
+        return archivedAssessmentRepository.findByAssessmentToken(token).map(this::toAssessment);
+    }
+
+    // Archive rows carry no foreign keys, so they are removed here when the user goes.
+    public void deleteForUser(Long userId) {
+        Map<String, Object> params = Map.of("userId", userId);
+        namedJdbcTemplate.update("DELETE aa FROM assessments_archive aa " +
+                "JOIN job_applications_archive ja ON ja.id = aa.job_application_id WHERE ja.user_id = :userId", params);
+        namedJdbcTemplate.update("DELETE FROM job_applications_archive WHERE user_id = :userId", params);
+        namedJdbcTemplate.update("DELETE FROM referrals_archive WHERE referrer_id = :userId OR referred_user_id = :userId", params);
+    }
+
+    // Rebuilt as detached entities with lazy references, so callers get the same shape as a live row.
+    private JobApplication toJobApplication(ArchivedJobApplication archived) {
+        JobApplication application = new JobApplication();
+        application.setId(archived.getId());
+        application.setUser(userRepository.getReferenceById(archived.getUserId()));
+        application.setJobVacancy(jobVacancyRepository.getReferenceById(archived.getJobVacancyId()));
+        application.setCoverLetter(archived.getCoverLetter());
+        application.setStatus(archived.getStatus());
+        application.setAppliedAt(archived.getAppliedAt());
+        application.setReviewedAt(archived.getReviewedAt());
+        application.setReviewedBy(archived.getReviewedBy());
+        application.setNotes(archived.getNotes());
+        application.setHasReferral(archived.getHasReferral());
+        application.setAssessmentScore(archived.getAssessmentScore());
+        return application;
+    }
+
+    // Questions are loaded back from the comma-separated ids in their original order; deleted ones are left out.
+    private Assessment toAssessment(ArchivedAssessment archived) {
+        List<Long> questionIds = archived.getQuestionIds() == null || archived.getQuestionIds().isBlank()
+                ? List.of()
+                : Arrays.stream(archived.getQuestionIds().split(",")).map(String::trim).map(Long::valueOf).toList();
+        Map<Long, Question> questions = questionRepository.findAllById(questionIds).stream()
+                .collect(Collectors.toMap(Question::getId, Function.identity()));
+
+        Assessment assessment = new Assessment();
+        assessment.setId(archived.getId());
+        assessment.setJobApplication(findApplication(archived.getJobApplicationId()).orElse(null));
+        assessment.setQuestions(questionIds.stream().map(questions::get).filter(Objects::nonNull).toList());
+        assessment.setAssessmentToken(archived.getAssessmentToken());
+        assessment.setScore(archived.getScore());
+        assessment.setCompletedAt(archived.getCompletedAt());
+        assessment.setExpiresAt(archived.getExpiresAt());
+        assessment.setCandidateCode(archived.getCandidateCode());
+        return assessment;
+    }
+
+    private Referral toReferral(ArchivedReferral archived) {
+        Referral referral = new Referral();
+        referral.setId(archived.getId());
+        referral.setReferrer(userRepository.getReferenceById(archived.getReferrerId()));
+        referral.setReferredUser(userRepository.getReferenceById(archived.getReferredUserId()));
+        referral.setJobVacancy(jobVacancyRepository.getReferenceById(archived.getJobVacancyId()));
+        referral.setStatus(archived.getStatus());
+        referral.setMessage(archived.getMessage());
+        referral.setCreatedAt(archived.getCreatedAt());
+        referral.setAcceptedAt(archived.getAcceptedAt());
+        return referral;
+    }
+}
@@ -0,0 +1,272 @@
+package com.career.portal.services;
+
+import com.career.portal.models.ApplicationStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-vacancy, per-status application counts. application_counters holds the counts shared by all nodes;
+// each node buffers its own changes in LongAdders and flushes them as deltas. Reads add the local unflushed
+// deltas to a briefly cached copy of the table rows, so every node converges within a flush interval.
+// A periodic recount corrects whatever drift is left, such as deltas lost with a node that crashed.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ApplicationCounterService {
+
+    static final String LEASE_NAME = "application-counter-reconcile";
+
+    private static final ApplicationStatus[] STATUSES = ApplicationStatus.values();
+
+    private static final String UPSERT_DELTA =
+            "INSERT INTO application_counters (job_vacancy_id, status, application_count) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE application_count = application_count + VALUES(application_count)";
+
+    // Live and archived applications both count towards their vacancy.
+    private static final String RECOUNT =
+            "SELECT job_vacancy_id, status, COUNT(*) FROM (" +
+            "SELECT job_vacancy_id, status FROM job_applications UNION ALL " +
+            "SELECT job_vacancy_id, status FROM job_applications_archive) a " +
+            "WHERE status IS NOT NULL GROUP BY job_vacancy_id, status";
+
+    private static final String SEED =
+            "INSERT IGNORE INTO application_counters (job_vacancy_id, status, application_count) " + RECOUNT;
+
+    private static final String RECOUNT_FOR_USER =
+            "SELECT job_vacancy_id, status, COUNT(*) FROM (" +
+            "SELECT job_vacancy_id, status FROM job_applications WHERE user_id = ? UNION ALL " +
+            "SELECT job_vacancy_id, status FROM job_applications_archive WHERE user_id = ?) a " +
+            "WHERE status IS NOT NULL GROUP BY job_vacancy_id, status";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SchedulerLeaseService schedulerLeaseService;
+
+    @Value("${applications.counters.cache-ttl-ms:5000}")
+    private long cacheTtlMillis;
+
+    @Value("${applications.counters.cache-max-size:10000}")
+    private int cacheMaxSize;
+
+    @Value("${applications.counters.reconcile-lease-seconds:7200}")
+    private long reconcileLeaseSeconds;
+
+    private final ConcurrentHashMap<Long, Cell[]> counters = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    // Vacancy id to its application_counters rows, indexed by status ordinal.
+    private TtlCache<Long, long[]> stored;
+    // Differences from the table found by the last recount, keyed by vacancy id and status.
+    private Map<CounterKey, Long> lastDrift = Map.of();
+
+    private record CounterKey(Long vacancyId, String status) {
+    }
+
+    private static final class Cell {
+        // Changes not yet written to application_counters.
+        final LongAdder pending = new LongAdder();
+        // Changes taken by a flush that has not finished yet.
+        final LongAdder flushing = new LongAdder();
+    }
+
+    @PostConstruct
+    void initCache() {
+        stored = new TtlCache<>(cacheMaxSize, cacheTtlMillis);
+    }
+
+    // Fills the table from job_applications the first time it is found empty. It is never overwritten
+    // afterwards: other nodes may hold deltas that an absolute write would lose or count twice.
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT 1 FROM application_counters LIMIT 1) c", Integer.class);
+        if (existing != null && existing > 0) {
+            return;
+        }
+        int rows = jdbcTemplate.update(SEED);
+        log.info("Application counters seeded with {} rows", rows);
+    }
+
+    public void recordSubmitted(Long vacancyId, ApplicationStatus status) {
+        TransactionHooks.afterCommit(() -> add(vacancyId, status, 1));
+    }
+
+    public void recordStatusChange(Long vacancyId, ApplicationStatus from, ApplicationStatus to) {
+        if (from == to) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            add(vacancyId, from, -1);
+            add(vacancyId, to, 1);
+        });
+    }
+
+    // Must run before the user's applications are deleted, in the same transaction.
+    public void recordUserDeleted(Long userId) {
+        List<Object[]> removed = jdbcTemplate.query(RECOUNT_FOR_USER,
+                (rs, rowNum) -> new Object[]{rs.getLong(1), ApplicationStatus.valueOf(rs.getString(2)), rs.getLong(3)},
+                userId, userId);
+        TransactionHooks.afterCommit(() -> removed.forEach(row ->
+                add((Long) row[0], (ApplicationStatus) row[1], -(Long) row[2])));
+    }
+
+    public long count(Long vacancyId) {
+        long total = 0;
+        for (long count : countByStatus(vacancyId).values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    public Map<ApplicationStatus, Long> countByStatus(Long vacancyId) {
+        long[] counts = stored.get(vacancyId, this::load);
+        Cell[] cells = counters.get(vacancyId);
+        Map<ApplicationStatus, Long> byStatus = new EnumMap<>(ApplicationStatus.class);
+        for (ApplicationStatus status : STATUSES) {
+            long count = counts[status.ordinal()];
+            if (cells != null) {
+                count += cells[status.ordinal()].pending.sum() + cells[status.ordinal()].flushing.sum();
+            }
+            byStatus.put(status, count);
+        }
+        return byStatus;
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${applications.counters.flush-interval-ms:10000}")
+    public void flush() {
+        List<Object[]> deltas = new ArrayList<>();
+        for (Long vacancyId : dirty) {
+            dirty.remove(vacancyId);
+            Cell[] cells = counters.get(vacancyId);
+            if (cells == null) {
+                continue;
+            }
+            for (ApplicationStatus status : STATUSES) {
+                Cell cell = cells[status.ordinal()];
+                long delta = cell.pending.sumThenReset();
+                if (delta != 0) {
+                    cell.flushing.add(delta);
+                    deltas.add(new Object[]{vacancyId, status.name(), delta});
+                }
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_DELTA, deltas);
+        } catch (RuntimeException e) {
+            // Put the deltas back so the next flush retries them.
+            for (Object[] delta : deltas) {
+                Long vacancyId = (Long) delta[0];
+                Cell cell = cells(vacancyId)[ApplicationStatus.valueOf((String) delta[1]).ordinal()];
+                cell.flushing.add(-(Long) delta[2]);
+                cell.pending.add((Long) delta[2]);
+                dirty.add(vacancyId);
+            }
+            log.warn("Could not flush {} application counter deltas", deltas.size(), e);
+            return;
+        }
+        // The table now holds these deltas, so drop the cached rows before no longer adding them locally.
+        for (Object[] delta : deltas) {
+            Long vacancyId = (Long) delta[0];
+            stored.invalidate(vacancyId);
+            cells(vacancyId)[ApplicationStatus.valueOf((String) delta[1]).ordinal()].flushing.add(-(Long) delta[2]);
+        }
+    }
+
+    // Compares the table with a recount of the applications. Deltas other nodes have not flushed yet show
+    // up as differences too, so a key is only corrected once two recounts a full interval apart find the
+    // same difference, which no unflushed delta outlives. Corrections are deltas, like every other write.
+    @Scheduled(fixedDelayString = "${applications.counters.reconcile-interval-ms:3600000}",
+            initialDelayString = "${applications.counters.reconcile-interval-ms:3600000}")
+    public synchronized void reconcile() {
+        if (!schedulerLeaseService.tryAcquire(LEASE_NAME, Duration.ofSeconds(reconcileLeaseSeconds))) {
+            lastDrift = Map.of();
+            return;
+        }
+        flush();
+        Map<CounterKey, Long> drift = drift();
+        List<Object[]> corrections = new ArrayList<>();
+        for (Map.Entry<CounterKey, Long> entry : drift.entrySet()) {
+            if (entry.getValue().equals(lastDrift.get(entry.getKey()))) {
+                corrections.add(new Object[]{entry.getKey().vacancyId(), entry.getKey().status(), entry.getValue()});
+            }
+        }
+        if (!corrections.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_DELTA, corrections);
+            for (Object[] correction : corrections) {
+                drift.remove(new CounterKey((Long) correction[0], (String) correction[1]));
+                stored.invalidate((Long) correction[0]);
+            }
+            log.warn("Corrected {} drifted application counters", corrections.size());
+        }
+        lastDrift = drift;
+    }
+
+    // Recounted minus stored, for every key where the two differ.
+    private Map<CounterKey, Long> drift() {
+        Map<CounterKey, Long> recounted = new HashMap<>();
+        jdbcTemplate.query(RECOUNT, rs -> {
+            recounted.put(new CounterKey(rs.getLong(1), rs.getString(2)), rs.getLong(3));
+        });
+        Map<CounterKey, Long> table = new HashMap<>();
+        jdbcTemplate.query("SELECT job_vacancy_id, status, application_count FROM application_counters", rs -> {
+            table.put(new CounterKey(rs.getLong(1), rs.getString(2)), rs.getLong(3));
+        });
+        Map<CounterKey, Long> drift = new HashMap<>();
+        Set<CounterKey> keys = new HashSet<>(recounted.keySet());
+        keys.addAll(table.keySet());
+        for (CounterKey key : keys) {
+            long difference = recounted.getOrDefault(key, 0L) - table.getOrDefault(key, 0L);
+            if (difference != 0) {
+                drift.put(key, difference);
+            }
+        }
+        return drift;
+    }
+
+    private long[] load(Long vacancyId) {
+        long[] counts = new long[STATUSES.length];
+        jdbcTemplate.query("SELECT status, application_count FROM application_counters WHERE job_vacancy_id = ?",
+                rs -> {
+                    counts[ApplicationStatus.valueOf(rs.getString(1)).ordinal()] = rs.getLong(2);
+                }, vacancyId);
+        return counts;
+    }
+
+    private void add(Long vacancyId, ApplicationStatus status, long delta) {
+        if (vacancyId == null || status == null) {
+            return;
+        }
+        cells(vacancyId)[status.ordinal()].pending.add(delta);
+        dirty.add(vacancyId);
+    }
+
+    private Cell[] cells(Long vacancyId) {
+        return counters.computeIfAbsent(vacancyId, id -> {
+            Cell[] cells = new Cell[STATUSES.length];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = new Cell();
+            }
+            return cells;
+        });
+    }
+}
@@ -0,0 +1,325 @@
+package com.career.portal.services;
+
+import com.career.portal.dto.ApplicationPipelineEvent;
+import com.career.portal.dto.ApplicationPipelineEvent.Type;
+import com.career.portal.events.ApplicationStatusChangedEvent;
+import com.career.portal.events.ApplicationSubmittedEvent;
+import com.career.portal.events.AssessmentCompletedEvent;
+import com.career.portal.events.DomainEvent;
+import com.career.portal.models.OutboxEvent;
+import com.career.portal.repositories.JobVacancyRepository;
+import com.career.portal.repositories.OutboxEventRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Fans application pipeline events out to recruiters' server-sent event streams. Each subscriber has a
+// bounded buffer that drops its oldest entry when full, so a slow client loses old events instead of
+// holding up the domain event workers. Buffers are drained on virtual threads, so a client that stops
+// reading only ever blocks its own sender. Events committed on this node arrive through the listeners;
+// while anyone is subscribed, the outbox is also followed so events committed on other nodes reach
+// recruiters whose streams are connected here.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ApplicationEventHub {
+
+    private static final Object HEARTBEAT = new Object();
+    private static final int MAX_OUTBOX_GAPS = 1000;
+    private static final Set<String> PIPELINE_EVENT_TYPES = Set.of(
+            ApplicationSubmittedEvent.class.getName(),
+            ApplicationStatusChangedEvent.class.getName(),
+            AssessmentCompletedEvent.class.getName());
+
+    private final JobVacancyRepository jobVacancyRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final DomainEventPublisher domainEventPublisher;
+
+    @Value("${applications.stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${applications.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${applications.stream.max-subscribers:1000}")
+    private int maxSubscribers;
+
+    // A send blocked longer than this means the client stopped reading; it gets nothing more after the
+    // next heartbeat. The blocked write itself is ended by the container's write timeout.
+    @Value("${applications.stream.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${applications.stream.outbox-batch-size:500}")
+    private int outboxBatchSize;
+
+    // How long an outbox id passed over is waited for before its transaction is taken to have rolled back.
+    @Value("${applications.stream.outbox-gap-timeout-ms:60000}")
+    private long outboxGapTimeoutMs;
+
+    private final Map<Long, Set<Subscriber>> subscribersByRecruiter = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder stalled = new LongAdder();
+
+    // Vacancy id to the recruiter who posted it.
+    private TtlCache<Long, Long> vacancyOwners;
+    // Outbox ids already fanned out, so an event the relay delivers again is not pushed twice.
+    private TtlCache<Long, Boolean> publishedEvents;
+    private ExecutorService senders;
+    // Null while nobody is subscribed; events from before a subscription are not replayed.
+    private CommitCursor outboxCursor;
+
+    @PostConstruct
+    void init() {
+        vacancyOwners = new TtlCache<>(10_000, 3_600_000);
+        publishedEvents = new TtlCache<>(50_000, 3_600_000);
+        senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("application-stream-", 0).factory());
+    }
+
+    public SseEmitter subscribe(Long recruiterId) {
+        return subscribe(recruiterId, new SseEmitter(timeoutMs));
+    }
+
+    SseEmitter subscribe(Long recruiterId, SseEmitter emitter) {
+        // Take the slot first so concurrent subscribes cannot overshoot the cap.
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("Too many open application streams");
+        }
+        Subscriber subscriber = new Subscriber(recruiterId, emitter);
+        subscribersByRecruiter.computeIfAbsent(recruiterId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        return emitter;
+    }
+
+    @Order(0)
+    @EventListener
+    public void onApplicationSubmitted(ApplicationSubmittedEvent event) {
+        publishDelivered(event);
+    }
+
+    @Order(0)
+    @EventListener
+    public void onStatusChanged(ApplicationStatusChangedEvent event) {
+        publishDelivered(event);
+    }
+
+    @Order(0)
+    @EventListener
+    public void onAssessmentCompleted(AssessmentCompletedEvent event) {
+        publishDelivered(event);
+    }
+
+    // The listeners only see events committed on this node (or relayed by it), so the outbox is read past
+    // a watermark as well. Events that arrive both ways are pushed once, by outbox id.
+    @Scheduled(fixedDelayString = "${applications.stream.outbox-poll-ms:2000}")
+    public synchronized void followOutbox() {
+        if (subscribersByRecruiter.isEmpty()) {
+            outboxCursor = null;
+            return;
+        }
+        if (outboxCursor == null) {
+            outboxCursor = new CommitCursor(outboxEventRepository.findMaxId(), outboxGapTimeoutMs, MAX_OUTBOX_GAPS);
+            return;
+        }
+        long now = System.currentTimeMillis();
+        outboxCursor.expire(now);
+        List<Long> gaps = outboxCursor.gaps();
+        List<OutboxEvent> rows = new ArrayList<>();
+        if (!gaps.isEmpty()) {
+            rows.addAll(outboxEventRepository.findAllById(gaps));
+        }
+        rows.addAll(outboxEventRepository.findAfter(outboxCursor.position(), PageRequest.of(0, outboxBatchSize)));
+        for (OutboxEvent row : rows) {
+            if (!outboxCursor.seen(row.getId(), now) || !PIPELINE_EVENT_TYPES.contains(row.getEventType())) {
+                continue;
+            }
+            try {
+                publish(row.getId(), toPipelineEvent(domainEventPublisher.decode(row), row.getCreatedAt()));
+            } catch (Exception e) {
+                log.warn("Could not read outbox event {} for the application streams", row.getId(), e);
+            }
+        }
+    }
+
+    // Comments keep idle connections open through proxies and surface clients that went away. A subscriber
+    // stuck in a send is only dropped here: completing its emitter would wait on the lock the send holds.
+    @Scheduled(fixedDelayString = "${applications.stream.heartbeat-ms:25000}")
+    public void sendHeartbeats() {
+        long now = System.currentTimeMillis();
+        subscribersByRecruiter.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            long sendingSince = subscriber.sendingSince;
+            if (sendingSince != 0 && now - sendingSince > sendTimeoutMs) {
+                stalled.increment();
+                log.debug("Application stream for recruiter {} stalled in a send, dropping it", subscriber.recruiterId);
+                unsubscribe(subscriber);
+            } else {
+                enqueue(subscriber, HEARTBEAT);
+            }
+        }));
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("subscribers", (long) subscriberCount.get());
+        stats.put("recruiters", (long) subscribersByRecruiter.size());
+        stats.put("published", published.sum());
+        stats.put("delivered", delivered.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("stalled", stalled.sum());
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribersByRecruiter.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter.complete()));
+        senders.shutdownNow();
+    }
+
+    private void publishDelivered(DomainEvent event) {
+        publish(DomainEventPublisher.currentEventId().orElse(null), toPipelineEvent(event, LocalDateTime.now()));
+    }
+
+    // Failures are logged rather than thrown: a failed event is delivered again to every listener.
+    private void publish(Long eventId, ApplicationPipelineEvent event) {
+        // Nobody is listening, so skip the owner lookup altogether.
+        if (subscribersByRecruiter.isEmpty()) {
+            return;
+        }
+        try {
+            Long recruiterId = vacancyOwners.get(event.getJobVacancyId(),
+                    id -> jobVacancyRepository.findPostedById(id).orElse(null));
+            if (recruiterId == null) {
+                return;
+            }
+            Set<Subscriber> subscribers = subscribersByRecruiter.get(recruiterId);
+            if (subscribers == null) {
+                return;
+            }
+            if (eventId != null && !publishedEvents.putIfAbsent(eventId, Boolean.TRUE)) {
+                return;
+            }
+            published.increment();
+            subscribers.forEach(subscriber -> enqueue(subscriber, event));
+        } catch (RuntimeException e) {
+            log.warn("Could not publish {} for application {} to its streams", event.getType(), event.getApplicationId(), e);
+        }
+    }
+
+    private static ApplicationPipelineEvent toPipelineEvent(DomainEvent event, LocalDateTime occurredAt) {
+        if (event instanceof ApplicationSubmittedEvent submitted) {
+            return new ApplicationPipelineEvent(Type.APPLICATION_SUBMITTED, submitted.getApplicationId(),
+                    submitted.getJobVacancyId(), null, null, null, occurredAt);
+        }
+        if (event instanceof ApplicationStatusChangedEvent changed) {
+            return new ApplicationPipelineEvent(Type.STATUS_CHANGED, changed.getApplicationId(),
+                    changed.getJobVacancyId(), changed.getPreviousStatus(), changed.getStatus(), null, occurredAt);
+        }
+        AssessmentCompletedEvent completed = (AssessmentCompletedEvent) event;
+        return new ApplicationPipelineEvent(Type.ASSESSMENT_COMPLETED, completed.getApplicationId(),
+                completed.getJobVacancyId(), null, null, completed.getScore(), occurredAt);
+    }
+
+    private void enqueue(Subscriber subscriber, Object item) {
+        if (subscriber.offer(item)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        Object item;
+        while ((item = subscriber.poll()) != null) {
+            subscriber.sendingSince = System.currentTimeMillis();
+            try {
+                if (item == HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+                } else {
+                    ApplicationPipelineEvent event = (ApplicationPipelineEvent) item;
+                    subscriber.emitter.send(SseEmitter.event()
+                            .name(event.getType().name())
+                            .data(event, MediaType.APPLICATION_JSON));
+                    delivered.increment();
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Application stream for recruiter {} closed: {}", subscriber.recruiterId, e.getMessage());
+                unsubscribe(subscriber);
+                return;
+            } finally {
+                subscriber.sendingSince = 0;
+            }
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribersByRecruiter.computeIfPresent(subscriber.recruiterId, (id, subscribers) -> {
+            if (subscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private final class Subscriber {
+        private final Long recruiterId;
+        private final SseEmitter emitter;
+        private final ArrayDeque<Object> buffer = new ArrayDeque<>();
+        private boolean draining;
+        // When the send in progress started, 0 when none is.
+        private volatile long sendingSince;
+
+        Subscriber(Long recruiterId, SseEmitter emitter) {
+            this.recruiterId = recruiterId;
+            this.emitter = emitter;
+        }
+
+        // Returns true when the caller must schedule a drain; at most one runs per subscriber.
+        synchronized boolean offer(Object item) {
+            if (buffer.size() >= bufferSize) {
+                buffer.pollFirst();
+                dropped.increment();
+            }
+            buffer.addLast(item);
+            if (draining) {
+                return false;
+            }
+            draining = true;
+            return true;
+        }
+
+        synchronized Object poll() {
+            Object next = buffer.pollFirst();
+            if (next == null) {
+                draining = false;
+            }
+            return next;
+        }
+    }
+}
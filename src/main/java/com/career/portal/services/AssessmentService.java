@@ -2,6 +2,7 @@ package com.career.portal.services;
 
 import com.career.portal.dto.SubmissionDetails;
 import com.career.portal.dto.TestCaseDto;
+import com.career.portal.events.AssessmentCompletedEvent;
 import com.career.portal.models.Assessment;
 import com.career.portal.models.JobApplication;
 import com.career.portal.models.Question;
@@ -12,14 +13,21 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @Slf4j
 @Service
@@ -30,7 +38,10 @@ public class AssessmentService {
     private final AssessmentRepository assessmentRepository;
     private final QuestionRepository questionRepository;
     private final Judge0Service judge0Service;
-    private final EmailService emailService;
+    private final DomainEventPublisher domainEventPublisher;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final ApplicationArchiveService applicationArchiveService;
+
     public Assessment createAssessment(JobApplication jobApplication) {
         Assessment assessment = new Assessment();
         assessment.setJobApplication(jobApplication);
@@ -41,14 +52,68 @@ public class AssessmentService {
         return assessmentRepository.save(assessment);
     }
 
+    // Creates assessments for many applications with batched JDBC inserts; entity inserts with IDENTITY
+    // keys cannot be batched by Hibernate. Applications that already have an assessment keep it.
+    // Returns the assessment token per application id.
+    public Map<Long, String> createAssessments(Collection<Long> applicationIds) {
+        Map<Long, String> tokens = new HashMap<>();
+        if (applicationIds.isEmpty()) {
+            return tokens;
+        }
+        namedJdbcTemplate.query("SELECT job_application_id, assessment_token FROM assessments WHERE job_application_id IN (:ids)",
+                Map.of("ids", applicationIds),
+                (RowCallbackHandler) rs -> tokens.put(rs.getLong(1), rs.getString(2)));
+
+        List<Long> missing = applicationIds.stream().filter(id -> !tokens.containsKey(id)).toList();
+        if (missing.isEmpty()) {
+            return tokens;
+        }
+
+        Timestamp expiresAt = Timestamp.valueOf(LocalDateTime.now().plusDays(7));
+        Map<String, Long> newTokens = new HashMap<>();
+        List<Object[]> rows = new ArrayList<>(missing.size());
+        for (Long applicationId : missing) {
+            String token = UUID.randomUUID().toString();
+            newTokens.put(token, applicationId);
+            rows.add(new Object[]{applicationId, token, expiresAt});
+        }
+        namedJdbcTemplate.getJdbcTemplate().batchUpdate(
+                "INSERT INTO assessments (job_application_id, assessment_token, expires_at) VALUES (?, ?, ?)", rows);
+
+        // Same as createAssessment: one random question each, drawn here from a single shuffled pool.
+        List<Long> questionIds = questionRepository.findRandomQuestionIds(missing.size());
+        List<Object[]> links = new ArrayList<>(missing.size());
+        int next = 0;
+        Map<String, Object> params = Map.of("tokens", newTokens.keySet());
+        List<Map<String, Object>> created = namedJdbcTemplate.queryForList(
+                "SELECT id, assessment_token FROM assessments WHERE assessment_token IN (:tokens)", params);
+        for (Map<String, Object> row : created) {
+            String token = (String) row.get("assessment_token");
+            tokens.put(newTokens.get(token), token);
+            if (!questionIds.isEmpty()) {
+                links.add(new Object[]{((Number) row.get("id")).longValue(), questionIds.get(next++ % questionIds.size())});
+            }
+        }
+        if (!links.isEmpty()) {
+            namedJdbcTemplate.getJdbcTemplate().batchUpdate(
+                    "INSERT INTO assessment_questions (assessment_id, question_id) VALUES (?, ?)", links);
+        }
+        return tokens;
+    }
+
+    // Falls back to the archive so a token answers the same before and after its vacancy is archived.
     public Assessment getAssessmentByToken(String token) {
         return assessmentRepository.findByAssessmentToken(token)
-                .filter(assessment -> assessment.getExpiresAt().isAfter(LocalDateTime.now()) && assessment.getCompletedAt() == null)
+                .or(() -> applicationArchiveService.findAssessmentByToken(token))
+                .filter(this::isOpen)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid or expired assessment token."));
     }
 
+    // Live rows only: an archived assessment belongs to a closed vacancy and is never written back.
     public Assessment submitAssessment(String token, String candidateCode, int languageId) {
-        Assessment assessment = getAssessmentByToken(token);
+        Assessment assessment = assessmentRepository.findByAssessmentToken(token)
+                .filter(this::isOpen)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid or expired assessment token."));
         assessment.setCandidateCode(candidateCode);
 
         int passedTestCases = 0;
@@ -95,9 +160,11 @@ public class AssessmentService {
 
         JobApplication jobApplication = assessment.getJobApplication();
         jobApplication.setAssessmentScore(score);
-        emailService.sendAssessmentConfirmationEmail(jobApplication.getUser(), jobApplication.getJobVacancy());
 
-        return assessmentRepository.save(assessment);
+        Assessment saved = assessmentRepository.save(assessment);
+        domainEventPublisher.publish(new AssessmentCompletedEvent(
+                saved.getId(), jobApplication.getId(), jobApplication.getJobVacancy().getId(), score));
+        return saved;
     }
 
     public List<TestCaseDto> getQuestionTestCases(String assessmentToken, Long questionId) {
@@ -117,4 +184,8 @@ public class AssessmentService {
                 ))
                 .toList();
     }
+
+    private boolean isOpen(Assessment assessment) {
+        return assessment.getExpiresAt().isAfter(LocalDateTime.now()) && assessment.getCompletedAt() == null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,257 @@
+package com.career.portal.services;
+
+import com.career.portal.events.ApplicationStatusChangedEvent;
+import com.career.portal.events.ApplicationSubmittedEvent;
+import com.career.portal.events.AssessmentCompletedEvent;
+import com.career.portal.models.ApplicationStatus;
+import com.career.portal.repositories.ArchivedJobApplicationRepository;
+import com.career.portal.repositories.JobApplicationRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Ranks applicants by a weighted blend of profile score, assessment score, referral and recency, and keeps
+// the best top-k of each vacancy in memory. Applications change one at a time through the domain events,
+// so the shortlist is patched in place and only reloaded when a slot opens that an unseen applicant may fill.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CandidateRankingService {
+
+    private static final double SECONDS_PER_DAY = 86_400d;
+
+    private final JobApplicationRepository jobApplicationRepository;
+    private final ArchivedJobApplicationRepository archivedJobApplicationRepository;
+
+    @Value("${applications.ranking.profile-weight:1.0}")
+    private double profileWeight;
+
+    @Value("${applications.ranking.assessment-weight:1.0}")
+    private double assessmentWeight;
+
+    @Value("${applications.ranking.referral-bonus:10.0}")
+    private double referralBonus;
+
+    // Points per day of application age. Linear in the apply date, so the order of two applicants never
+    // changes as time passes and a maintained shortlist stays valid without rescoring.
+    @Value("${applications.ranking.recency-per-day:0.5}")
+    private double recencyPerDay;
+
+    @Value("${applications.ranking.top-k:200}")
+    private int topK;
+
+    @Value("${applications.ranking.cache.max-size:2000}")
+    private int cacheMaxSize;
+
+    // The domain events that patch a shortlist only reach the node that committed the change, so this
+    // bounds how long other nodes serve a ranking that misses it.
+    @Value("${applications.ranking.cache.ttl-seconds:60}")
+    private long cacheTtlSeconds;
+
+    private TtlCache<Long, Shortlist> shortlists;
+
+    // Bumped on every change; a shortlist loaded across a change is served but not cached.
+    private final AtomicLong generation = new AtomicLong();
+
+    public record Ranked(long applicationId, double score) {
+    }
+
+    private static final Comparator<Ranked> ORDER = Comparator.comparingDouble(Ranked::score).reversed()
+            .thenComparing(Comparator.comparingLong(Ranked::applicationId).reversed());
+
+    @PostConstruct
+    void initCache() {
+        shortlists = new TtlCache<>(cacheMaxSize, cacheTtlSeconds * 1000);
+    }
+
+    // Up to limit of the best-ranked applicants for the vacancy that rank below `after` (from the start when
+    // null), best first. Only the top-k are ranked. Positions are by score, so an applicant moving between
+    // calls does not shift the ones a caller has not seen yet.
+    public List<Ranked> rankedApplicants(Long jobVacancyId, Ranked after, int limit) {
+        Shortlist shortlist = shortlists.get(jobVacancyId);
+        if (shortlist == null) {
+            long loadedAt = generation.get();
+            shortlist = load(jobVacancyId);
+            if (generation.get() == loadedAt) {
+                shortlists.put(jobVacancyId, shortlist);
+            }
+        }
+        return shortlist.after(after, limit);
+    }
+
+    public double score(double profileScore, Integer assessmentScore, Boolean hasReferral, LocalDateTime appliedAt) {
+        double score = profileWeight * profileScore;
+        if (assessmentScore != null) {
+            score += assessmentWeight * assessmentScore;
+        }
+        if (Boolean.TRUE.equals(hasReferral)) {
+            score += referralBonus;
+        }
+        if (appliedAt != null) {
+            score += recencyPerDay * appliedAt.toEpochSecond(ZoneOffset.UTC) / SECONDS_PER_DAY;
+        }
+        return score;
+    }
+
+    @Order(0)
+    @EventListener
+    public void onApplicationSubmitted(ApplicationSubmittedEvent event) {
+        refresh(event.getApplicationId(), event.getJobVacancyId());
+    }
+
+    @Order(0)
+    @EventListener
+    public void onStatusChanged(ApplicationStatusChangedEvent event) {
+        refresh(event.getApplicationId(), event.getJobVacancyId());
+    }
+
+    @Order(0)
+    @EventListener
+    public void onAssessmentCompleted(AssessmentCompletedEvent event) {
+        refresh(event.getApplicationId(), event.getJobVacancyId());
+    }
+
+    // For changes that do not go through a domain event, such as an admin editing a profile score.
+    public void invalidateAfterCommit(Collection<Long> jobVacancyIds) {
+        List<Long> ids = List.copyOf(jobVacancyIds);
+        TransactionHooks.afterCommit(() -> {
+            generation.incrementAndGet();
+            ids.forEach(shortlists::invalidate);
+        });
+    }
+
+    public Map<String, Long> getCacheStats() {
+        Map<String, Long> stats = new LinkedHashMap<>(shortlists.stats());
+        stats.put("generation", generation.get());
+        return stats;
+    }
+
+    // Re-reads the application, so running it twice for one event is harmless. Failures only drop the
+    // shortlist rather than failing the event, which would make the other listeners run again.
+    private void refresh(Long applicationId, Long jobVacancyId) {
+        generation.incrementAndGet();
+        Shortlist shortlist = shortlists.get(jobVacancyId);
+        if (shortlist == null) {
+            return;
+        }
+        try {
+            List<Object[]> rows = jobApplicationRepository.findRankingRowById(applicationId);
+            Ranked replacement = rows.isEmpty() ? null : rank(rows.get(0));
+            if (shortlist.update(applicationId, replacement)) {
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh the shortlist of vacancy {} for application {}", jobVacancyId, applicationId, e);
+        }
+        shortlists.invalidate(jobVacancyId);
+    }
+
+    // A vacancy with no live applications may have had them archived; those rankings no longer change.
+    private Shortlist load(Long jobVacancyId) {
+        List<Object[]> rows = jobApplicationRepository.findRankingRowsByVacancy(jobVacancyId);
+        if (rows.isEmpty()) {
+            rows = archivedJobApplicationRepository.findRankingRowsByVacancy(jobVacancyId);
+        }
+        Shortlist shortlist = new Shortlist(topK);
+        for (Object[] row : rows) {
+            Ranked ranked = rank(row);
+            if (ranked != null) {
+                shortlist.offer(ranked);
+            }
+        }
+        return shortlist;
+    }
+
+    // Row layout follows JobApplicationRepository.SELECT_RANKING. Rejected applicants are not ranked.
+    private Ranked rank(Object[] row) {
+        if (row[6] == ApplicationStatus.REJECTED) {
+            return null;
+        }
+        double profileScore = row[2] == null ? 0 : ((Number) row[2]).doubleValue();
+        return new Ranked((Long) row[0], score(profileScore, (Integer) row[3], (Boolean) row[4], (LocalDateTime) row[5]));
+    }
+
+    static final class Shortlist {
+        private final int capacity;
+        private final TreeSet<Ranked> ranked = new TreeSet<>(ORDER);
+        private final Map<Long, Ranked> byId = new HashMap<>();
+        // True while every eligible applicant of the vacancy is held here.
+        private boolean complete = true;
+
+        Shortlist(int capacity) {
+            this.capacity = capacity;
+        }
+
+        synchronized void offer(Ranked entry) {
+            if (ranked.size() < capacity) {
+                add(entry);
+                return;
+            }
+            complete = false;
+            Ranked last = ranked.last();
+            if (ORDER.compare(entry, last) < 0) {
+                remove(last);
+                add(entry);
+            }
+        }
+
+        // Returns false when the change leaves a place that an applicant outside the shortlist might deserve.
+        synchronized boolean update(long applicationId, Ranked replacement) {
+            Ranked previous = byId.get(applicationId);
+            if (previous == null) {
+                if (replacement != null) {
+                    offer(replacement);
+                }
+                return true;
+            }
+            // Every applicant outside the shortlist ranks below the current last entry.
+            Ranked floor = ranked.last();
+            remove(previous);
+            if (replacement == null) {
+                return complete;
+            }
+            if (complete || ORDER.compare(replacement, floor) <= 0) {
+                add(replacement);
+                return true;
+            }
+            return false;
+        }
+
+        synchronized List<Ranked> after(Ranked after, int limit) {
+            List<Ranked> page = new ArrayList<>(Math.min(limit, ranked.size()));
+            for (Ranked entry : after == null ? ranked : ranked.tailSet(after, false)) {
+                if (page.size() == limit) {
+                    break;
+                }
+                page.add(entry);
+            }
+            return page;
+        }
+
+        private void add(Ranked entry) {
+            ranked.add(entry);
+            byId.put(entry.applicationId(), entry);
+        }
+
+        private void remove(Ranked entry) {
+            ranked.remove(entry);
+            byId.remove(entry.applicationId());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.career.portal.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+// Follows an auto-increment table in the order rows commit. Ids are taken at insert but rows only become
+// visible at commit, so a row can show up below ids already read. Ids passed over are kept as gaps and
+// looked up again on later reads until they appear, or until they are older than maxGapAgeMillis and are
+// taken to be rolled back. Not thread-safe; callers serialize their reads.
+final class CommitCursor {
+
+    private final long maxGapAgeMillis;
+    private final int maxGaps;
+    private long position;
+    // Missing id to when it was first passed over.
+    private final TreeMap<Long, Long> gaps = new TreeMap<>();
+
+    CommitCursor(long position, long maxGapAgeMillis, int maxGaps) {
+        this.position = position;
+        this.maxGapAgeMillis = maxGapAgeMillis;
+        this.maxGaps = maxGaps;
+    }
+
+    // Highest id read so far; the next read takes ids above it.
+    long position() {
+        return position;
+    }
+
+    // Ids below the position that have not been read yet.
+    List<Long> gaps() {
+        return new ArrayList<>(gaps.keySet());
+    }
+
+    // Returns false when the row was already read. Rows above the position must be passed in id order.
+    boolean seen(long id, long now) {
+        if (id <= position) {
+            return gaps.remove(id) != null;
+        }
+        for (long missing = Math.max(position + 1, id - maxGaps); missing < id; missing++) {
+            gaps.put(missing, now);
+        }
+        position = id;
+        while (gaps.size() > maxGaps) {
+            gaps.pollFirstEntry();
+        }
+        return true;
+    }
+
+    // Drops gaps that have waited too long for their row.
+    void expire(long now) {
+        gaps.values().removeIf(since -> now - since > maxGapAgeMillis);
+    }
+}
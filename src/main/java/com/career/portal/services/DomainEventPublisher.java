@@ -0,0 +1,209 @@
+package com.career.portal.services;
+
+import com.career.portal.events.DomainEvent;
+import com.career.portal.models.OutboxEvent;
+import com.career.portal.repositories.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Transactional outbox. publish() writes the event row in the caller's transaction; after commit the event
+// is handed to @EventListener methods on a bounded worker pool, so side effects such as email stay off the
+// request thread. Rows that were never delivered (full queue, listener failure, node crash) are picked up
+// by the relay. Delivery is at least once per event. Only the notification listener lets a failure through,
+// and it sends one email per event, so a retry repeats just the email that failed; the in-memory listeners
+// log their own failures and tolerate running twice (the stream hub skips ids it has already pushed).
+@Slf4j
+@Service
+public class DomainEventPublisher {
+
+    static final String LEASE_NAME = "outbox-relay";
+
+    private static final ThreadLocal<Long> DELIVERING = new ThreadLocal<>();
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor executor;
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder relayed = new LongAdder();
+
+    @Value("${events.outbox.claim-seconds:300}")
+    private long claimSeconds;
+
+    @Value("${events.outbox.relay-delay-seconds:60}")
+    private long relayDelaySeconds;
+
+    @Value("${events.outbox.relay-batch-size:200}")
+    private int relayBatchSize;
+
+    @Value("${events.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${events.outbox.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${events.outbox.lease-seconds:120}")
+    private long leaseSeconds;
+
+    public DomainEventPublisher(OutboxEventRepository outboxEventRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                SchedulerLeaseService schedulerLeaseService,
+                                ObjectMapper objectMapper,
+                                @Value("${events.dispatch.threads:2}") int threads,
+                                @Value("${events.dispatch.queue-capacity:1000}") int queueCapacity) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.schedulerLeaseService = schedulerLeaseService;
+        this.objectMapper = objectMapper;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("domain-events-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public void publish(DomainEvent event) {
+        OutboxEvent row = new OutboxEvent();
+        row.setEventType(event.getClass().getName());
+        row.setPayload(serialize(event));
+        row.setCreatedAt(LocalDateTime.now());
+        Long id = outboxEventRepository.save(row).getId();
+
+        TransactionHooks.afterCommit(() -> submit(id, event));
+    }
+
+    private void submit(Long id, DomainEvent event) {
+        try {
+            executor.execute(() -> deliver(id, event));
+        } catch (RejectedExecutionException e) {
+            // The row is already committed, so a full queue only delays the event until the relay runs.
+            rejected.increment();
+            log.warn("Domain event queue is full, leaving outbox event {} for the relay", id);
+        }
+    }
+
+    private void deliver(Long id, DomainEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        if (outboxEventRepository.claim(id, now, now.plusSeconds(claimSeconds)) == 0) {
+            return;
+        }
+        DELIVERING.set(id);
+        try {
+            eventPublisher.publishEvent(event);
+            outboxEventRepository.markDispatched(id, LocalDateTime.now());
+            delivered.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.error("Listener failed for outbox event {} ({})", id, event, e);
+            outboxEventRepository.recordFailure(id, truncate(e.toString()));
+        } finally {
+            DELIVERING.remove();
+        }
+    }
+
+    // Outbox id of the event being delivered on the calling thread, for listeners that must not repeat work.
+    public static Optional<Long> currentEventId() {
+        return Optional.ofNullable(DELIVERING.get());
+    }
+
+    // Only rows older than the relay delay are considered, so events still queued for their
+    // after-commit delivery are left alone. Rows go to the worker pool rather than being delivered here,
+    // so slow listeners never hold up the other scheduled jobs.
+    @Scheduled(fixedDelayString = "${events.outbox.relay-interval-ms:30000}")
+    public void relayPending() {
+        if (!schedulerLeaseService.tryAcquire(LEASE_NAME, Duration.ofSeconds(leaseSeconds))) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> pending = outboxEventRepository.findPending(
+                now.minusSeconds(relayDelaySeconds), now, maxAttempts, PageRequest.of(0, relayBatchSize));
+        for (OutboxEvent row : pending) {
+            DomainEvent event = deserialize(row);
+            if (event != null) {
+                relayed.increment();
+                submit(row.getId(), event);
+            }
+        }
+
+        int purged = outboxEventRepository.deleteDispatchedBefore(now.minusDays(retentionDays));
+        if (!pending.isEmpty() || purged > 0) {
+            log.info("Outbox relay requeued {} events and purged {} delivered rows", pending.size(), purged);
+        }
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("threads", (long) executor.getMaximumPoolSize());
+        stats.put("active", (long) executor.getActiveCount());
+        stats.put("queued", (long) executor.getQueue().size());
+        stats.put("delivered", delivered.sum());
+        stats.put("failed", failed.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("relayed", relayed.sum());
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("{} queued domain events were left for the outbox relay", executor.getQueue().size());
+        }
+    }
+
+    private String serialize(DomainEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + event.getClass().getSimpleName(), e);
+        }
+    }
+
+    // Reads a row back into its event, for readers that follow the outbox themselves.
+    DomainEvent decode(OutboxEvent row) throws ClassNotFoundException, JsonProcessingException {
+        Class<?> type = Class.forName(row.getEventType());
+        if (!DomainEvent.class.isAssignableFrom(type)) {
+            throw new IllegalStateException(row.getEventType() + " is not a domain event");
+        }
+        return (DomainEvent) objectMapper.readValue(row.getPayload(), type);
+    }
+
+    private DomainEvent deserialize(OutboxEvent row) {
+        try {
+            return decode(row);
+        } catch (ClassNotFoundException | JsonProcessingException | IllegalStateException e) {
+            log.error("Skipping unreadable outbox event {}", row.getId(), e);
+            LocalDateTime now = LocalDateTime.now();
+            // Claimed without delivering, so a bad row burns an attempt and eventually stops being retried.
+            outboxEventRepository.claim(row.getId(), now, now.plusSeconds(claimSeconds));
+            outboxEventRepository.recordFailure(row.getId(), truncate(e.toString()));
+            return null;
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
@@ -0,0 +1,107 @@
+package com.career.portal.services;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+
+// Immutable interval tree laid out implicitly over an array sorted by interval start:
+// the middle of every index range is that subtree's root, and maxEnd[root] holds the
+// largest end in the range, so whole subtrees that end before the query are skipped.
+final class IntervalIndex {
+
+    static final IntervalIndex EMPTY = new IntervalIndex(new double[0], new double[0], new int[0]);
+
+    private final double[] start;
+    private final double[] end;
+    private final int[] ordinal;
+    private final double[] maxEnd;
+
+    private IntervalIndex(double[] start, double[] end, int[] ordinal) {
+        this.start = start;
+        this.end = end;
+        this.ordinal = ordinal;
+        this.maxEnd = new double[start.length];
+        augment(0, start.length);
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    int size() {
+        return start.length;
+    }
+
+    // Ordinals of every interval [s, e] with s <= to and e >= from.
+    BitSet overlapping(double from, double to) {
+        BitSet result = new BitSet();
+        collect(0, start.length, from, to, result);
+        return result;
+    }
+
+    private double augment(int lo, int hi) {
+        if (lo >= hi) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        int mid = (lo + hi) >>> 1;
+        double max = Math.max(end[mid], Math.max(augment(lo, mid), augment(mid + 1, hi)));
+        maxEnd[mid] = max;
+        return max;
+    }
+
+    private void collect(int lo, int hi, double from, double to, BitSet result) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (maxEnd[mid] < from) {
+            return;
+        }
+        collect(lo, mid, from, to, result);
+        if (start[mid] <= to) {
+            if (end[mid] >= from) {
+                result.set(ordinal[mid]);
+            }
+            collect(mid + 1, hi, from, to, result);
+        }
+    }
+
+    static final class Builder {
+
+        private double[] start = new double[16];
+        private double[] end = new double[16];
+        private int[] ordinal = new int[16];
+        private int size;
+
+        Builder add(double from, double to, int ord) {
+            if (size == start.length) {
+                start = Arrays.copyOf(start, size * 2);
+                end = Arrays.copyOf(end, size * 2);
+                ordinal = Arrays.copyOf(ordinal, size * 2);
+            }
+            start[size] = Math.min(from, to);
+            end[size] = Math.max(from, to);
+            ordinal[size] = ord;
+            size++;
+            return this;
+        }
+
+        IntervalIndex build() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingDouble(i -> start[i]));
+
+            double[] sortedStart = new double[size];
+            double[] sortedEnd = new double[size];
+            int[] sortedOrdinal = new int[size];
+            for (int i = 0; i < size; i++) {
+                sortedStart[i] = start[order[i]];
+                sortedEnd[i] = end[order[i]];
+                sortedOrdinal[i] = ordinal[order[i]];
+            }
+            return new IntervalIndex(sortedStart, sortedEnd, sortedOrdinal);
+        }
+    }
+}
@@ -1,16 +1,44 @@
 package com.career.portal.services;
 
+import com.career.portal.dto.ApplicantSummary;
+import com.career.portal.dto.BulkStatusUpdateRequest;
+import com.career.portal.dto.BulkStatusUpdateResult;
+import com.career.portal.dto.CursorPage;
+import com.career.portal.events.ApplicationStatusChangedEvent;
+import com.career.portal.events.ApplicationSubmittedEvent;
 import com.career.portal.models.*;
+import com.career.portal.repositories.ArchivedJobApplicationRepository;
 import com.career.portal.repositories.JobApplicationRepository;
 import com.career.portal.repositories.JobVacancyRepository;
 import com.career.portal.repositories.UserRepository;
+import com.career.portal.services.CandidateRankingService.Ranked;
+import com.career.portal.services.StatusHistoryService.Transition;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -18,11 +46,27 @@ import java.util.Optional;
 public class JobApplicationService {
 
     private final JobApplicationRepository jobApplicationRepository;
+    private final ArchivedJobApplicationRepository archivedJobApplicationRepository;
     private final UserRepository userRepository;
     private final JobVacancyRepository jobVacancyRepository;
-    private final EmailService emailService;
     private final AssessmentService assessmentService;
     private final ReferralService referralService;
+    private final ApplicationCounterService applicationCounterService;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final DomainEventPublisher domainEventPublisher;
+    private final CandidateRankingService candidateRankingService;
+    private final StatusHistoryService statusHistoryService;
+    private final ApplicationArchiveService applicationArchiveService;
+
+    @Value("${applications.bulk.max-size:500}")
+    private int maxBulkSize;
+
+    @Value("${applications.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${applications.page.max-size:200}")
+    private int maxPageSize;
 
 
     public JobApplication submitApplication(JobApplication jobApplication){
@@ -43,45 +87,214 @@ public class JobApplicationService {
         if (referralOpt.isPresent() && referralOpt.get().getStatus() == ReferralStatus.ACCEPTED) {
             jobApplication.setHasReferral(true);
         }
-        emailService.sendApplicationConfirmationEmail(user, jobVacancy);
 
-        return jobApplicationRepository.save(jobApplication);
+        JobApplication saved = jobApplicationRepository.save(jobApplication);
+        applicationCounterService.recordSubmitted(jobVacancy.getId(), saved.getStatus());
+        statusHistoryService.record(List.of(new Transition(saved.getId(), jobVacancy.getId(), jobVacancy.getPostedBy(),
+                null, saved.getStatus(), null, saved.getAppliedAt(), user.getId())));
+        domainEventPublisher.publish(new ApplicationSubmittedEvent(saved.getId(), user.getId(), jobVacancy.getId()));
+        return saved;
     }
 
     public List<JobApplication> findApplicationsByUser(Long userId){
-        return jobApplicationRepository.findByUserId(userId);
+        List<JobApplication> applications = new ArrayList<>(jobApplicationRepository.findByUserId(userId));
+        applications.addAll(applicationArchiveService.findApplicationsByUser(userId));
+        return applications;
     }
 
     public List<JobApplication> findApplicationByJobVacancy(Long jobVacancyId){
+        if (applicationArchiveService.isArchived(jobVacancyId)) {
+            return applicationArchiveService.findApplicationsByVacancy(jobVacancyId);
+        }
         return jobApplicationRepository.findByJobVacancyId(jobVacancyId);
     }
 
-    public List<JobApplication> findApplicationByJobVacancyOrderedByScore(Long jobVacancyId){
-        return jobApplicationRepository.findByJobVacancyIdOrderByProfileScoreDesc(jobVacancyId);
+    // sortBy is "score" or "date", as on the old list endpoint. The cursor is the last row of the previous
+    // page, so deep pages do not rescan earlier rows and inserts do not shift the pages being walked.
+    // "score" pages through the ranked shortlist only; everyone else is reachable by date or export.
+    @Transactional(readOnly = true)
+    public CursorPage<ApplicantSummary> findApplicants(Long jobVacancyId, String sortBy, String cursor, Integer size){
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        ApplicantCursor position = cursor == null || cursor.isBlank() ? null : ApplicantCursor.decode(cursor);
+        if ("score".equals(sortBy)) {
+            return findRankedApplicants(jobVacancyId, position, pageSize);
+        }
+
+        // One extra row tells us whether another page exists without a COUNT query.
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        boolean archived = applicationArchiveService.isArchived(jobVacancyId);
+        List<ApplicantSummary> rows;
+        if (position == null) {
+            rows = archived
+                    ? archivedJobApplicationRepository.findApplicantsByDate(jobVacancyId, limit)
+                    : jobApplicationRepository.findApplicantsByDate(jobVacancyId, limit);
+        } else {
+            LocalDateTime appliedAt = position.appliedAt();
+            rows = archived
+                    ? archivedJobApplicationRepository.findApplicantsByDateAfter(jobVacancyId, appliedAt, position.id(), limit)
+                    : jobApplicationRepository.findApplicantsByDateAfter(jobVacancyId, appliedAt, position.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ApplicantSummary> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            ApplicantSummary last = items.get(items.size() - 1);
+            nextCursor = new ApplicantCursor(last.getAppliedAt().toString(), last.getApplicationId()).encode();
+        }
+        return new CursorPage<>(items, nextCursor, hasMore);
     }
 
-    public List<JobApplication> findApplicationByJobVacancyOrderedByDate(Long jobVacancyId){
-        return jobApplicationRepository.findByJobVacancyIdOrderByAppliedAtDesc(jobVacancyId);
+    private CursorPage<ApplicantSummary> findRankedApplicants(Long jobVacancyId, ApplicantCursor position, int pageSize){
+        Ranked after = position == null ? null : new Ranked(position.id(), position.score());
+        List<Ranked> ranked = candidateRankingService.rankedApplicants(jobVacancyId, after, pageSize + 1);
+        boolean hasMore = ranked.size() > pageSize;
+        List<Ranked> page = hasMore ? ranked.subList(0, pageSize) : ranked;
+        List<Long> ids = page.stream().map(Ranked::applicationId).toList();
+
+        Map<Long, ApplicantSummary> byId = new HashMap<>();
+        if (!ids.isEmpty()) {
+            List<ApplicantSummary> applicants = applicationArchiveService.isArchived(jobVacancyId)
+                    ? archivedJobApplicationRepository.findApplicantsByIdIn(jobVacancyId, ids)
+                    : jobApplicationRepository.findApplicantsByIdIn(jobVacancyId, ids);
+            for (ApplicantSummary applicant : applicants) {
+                byId.put(applicant.getApplicationId(), applicant);
+            }
+        }
+        List<ApplicantSummary> items = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        String nextCursor = null;
+        if (hasMore) {
+            Ranked last = page.get(page.size() - 1);
+            nextCursor = new ApplicantCursor(Double.toString(last.score()), last.applicationId()).encode();
+        }
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+
+    // Writes every applicant as one JSON line while the rows are still being read.
+    @Transactional(readOnly = true)
+    public void exportApplicants(Long jobVacancyId, String sortBy, OutputStream out){
+        boolean byScore = "score".equals(sortBy);
+        boolean archived = applicationArchiveService.isArchived(jobVacancyId);
+        try (Stream<ApplicantSummary> applicants = archived
+                ? (byScore ? archivedJobApplicationRepository.streamApplicantsByScore(jobVacancyId)
+                        : archivedJobApplicationRepository.streamApplicantsByDate(jobVacancyId))
+                : (byScore ? jobApplicationRepository.streamApplicantsByScore(jobVacancyId)
+                        : jobApplicationRepository.streamApplicantsByDate(jobVacancyId))) {
+            applicants.forEach(applicant -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(applicant));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
     }
 
     public Optional<JobApplication> findById(Long id){
-        return jobApplicationRepository.findById(id);
+        return jobApplicationRepository.findById(id).or(() -> applicationArchiveService.findApplication(id));
     }
 
     public JobApplication updateApplicationStatus(Long applicationId, ApplicationStatus status, Long reviewerId){
-        JobApplication application = jobApplicationRepository.findById(applicationId)
+        // Locked, so a concurrent change cannot apply the same `previous` twice to the counters and history.
+        JobApplication application = jobApplicationRepository.findByIdForUpdate(applicationId)
                 .orElseThrow(() -> new IllegalArgumentException("Application not found."));
 
+        ApplicationStatus previous = application.getStatus();
+        Long jobVacancyId = application.getJobVacancy().getId();
+        // Every status change stamps reviewedAt, so it is also when the current stage was entered.
+        LocalDateTime stageEnteredAt = application.getReviewedAt() != null ? application.getReviewedAt() : application.getAppliedAt();
+        applicationCounterService.recordStatusChange(jobVacancyId, previous, status);
         application.setStatus(status);
         application.setReviewedBy(reviewerId);
         application.setReviewedAt(LocalDateTime.now());
 
         if (status == ApplicationStatus.SHORTLISTED) {
-            Assessment assessment = assessmentService.createAssessment(application);
-            emailService.sendShortlistEmail(application.getUser(), application.getJobVacancy(), assessment.getAssessmentToken());
+            assessmentService.createAssessment(application);
         }
 
-        return jobApplicationRepository.save(application);
+        JobApplication saved = jobApplicationRepository.save(application);
+        if (previous != status) {
+            statusHistoryService.record(List.of(new Transition(applicationId, jobVacancyId, application.getJobVacancy().getPostedBy(),
+                    previous, status, stageEnteredAt, saved.getReviewedAt(), reviewerId)));
+            domainEventPublisher.publish(new ApplicationStatusChangedEvent(applicationId, jobVacancyId, previous, status, reviewerId));
+        }
+        return saved;
+    }
+
+    public List<BulkStatusUpdateResult> bulkUpdateStatus(BulkStatusUpdateRequest request, Long reviewerId){
+        if (request.getStatus() == null || request.getApplicationIds() == null || request.getApplicationIds().isEmpty()) {
+            throw new IllegalArgumentException("Status and application ids are required");
+        }
+        Set<Long> ids = new LinkedHashSet<>(request.getApplicationIds());
+        if (ids.size() > maxBulkSize) {
+            throw new IllegalArgumentException("At most " + maxBulkSize + " applications can be updated at once");
+        }
+        ApplicationStatus status = request.getStatus();
+
+        Map<Long, Object[]> current = new HashMap<>();
+        for (Object[] row : jobApplicationRepository.findStatusesByIdIn(ids)) {
+            current.put((Long) row[0], row);
+        }
+
+        Map<Long, BulkStatusUpdateResult.Outcome> outcomes = new LinkedHashMap<>();
+        List<Object[]> candidates = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp reviewedAt = Timestamp.valueOf(now);
+        for (Long id : ids) {
+            Object[] row = current.get(id);
+            if (row == null) {
+                outcomes.put(id, BulkStatusUpdateResult.Outcome.NOT_FOUND);
+            } else if (row[2] == status) {
+                outcomes.put(id, BulkStatusUpdateResult.Outcome.UNCHANGED);
+            } else {
+                candidates.add(row);
+                updates.add(new Object[]{status.name(), reviewerId, reviewedAt, id, ((ApplicationStatus) row[2]).name()});
+            }
+        }
+        if (updates.isEmpty()) {
+            return toResults(outcomes);
+        }
+
+        // The statuses above were read without locks, so each row only changes if it still holds the status
+        // that was read; a row changed by someone else in between is left alone and reported as a conflict.
+        int[] counts = jdbcTemplate.batchUpdate(
+                "UPDATE job_applications SET status = ?, reviewed_by = ?, reviewed_at = ? WHERE id = ? AND status = ?", updates);
+
+        List<Long> updated = new ArrayList<>();
+        List<ApplicationStatusChangedEvent> changes = new ArrayList<>();
+        List<Transition> transitions = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            Object[] row = candidates.get(i);
+            Long id = (Long) row[0];
+            if (counts[i] != 1) {
+                outcomes.put(id, BulkStatusUpdateResult.Outcome.CONFLICT);
+                continue;
+            }
+            Long jobVacancyId = (Long) row[1];
+            ApplicationStatus previous = (ApplicationStatus) row[2];
+            LocalDateTime stageEnteredAt = row[4] != null ? (LocalDateTime) row[4] : (LocalDateTime) row[3];
+            updated.add(id);
+            changes.add(new ApplicationStatusChangedEvent(id, jobVacancyId, previous, status, reviewerId));
+            transitions.add(new Transition(id, jobVacancyId, (Long) row[5], previous, status, stageEnteredAt, now, reviewerId));
+            applicationCounterService.recordStatusChange(jobVacancyId, previous, status);
+            outcomes.put(id, BulkStatusUpdateResult.Outcome.UPDATED);
+        }
+        statusHistoryService.record(transitions);
+
+        if (status == ApplicationStatus.SHORTLISTED && !updated.isEmpty()) {
+            assessmentService.createAssessments(updated);
+        }
+        // Shortlist emails go out from the status change listener once this commits.
+        changes.forEach(domainEventPublisher::publish);
+        return toResults(outcomes);
+    }
+
+    private static List<BulkStatusUpdateResult> toResults(Map<Long, BulkStatusUpdateResult.Outcome> outcomes){
+        List<BulkStatusUpdateResult> results = new ArrayList<>(outcomes.size());
+        outcomes.forEach((id, outcome) -> results.add(new BulkStatusUpdateResult(id, outcome)));
+        return results;
     }
 
     public JobApplication addNotesToApplication(Long applicationId, String notes){
@@ -93,11 +306,17 @@ public class JobApplicationService {
     }
 
     public List<JobApplication> findApplicationByStatus(ApplicationStatus status){
-        return jobApplicationRepository.findByStatus(status);
+        List<JobApplication> applications = new ArrayList<>(jobApplicationRepository.findByStatus(status));
+        applications.addAll(applicationArchiveService.findApplicationsByStatus(status));
+        return applications;
     }
 
     public Long countApplicationsForJob(Long jobVacancyId){
-        return jobApplicationRepository.countApplicationsByJobVacancy(jobVacancyId);
+        return applicationCounterService.count(jobVacancyId);
+    }
+
+    public Map<ApplicationStatus, Long> countApplicationsForJobByStatus(Long jobVacancyId){
+        return applicationCounterService.countByStatus(jobVacancyId);
     }
 
     public JobApplication markAsReferred(Long applicationId){
@@ -105,7 +324,43 @@ public class JobApplicationService {
                 orElseThrow(() -> new IllegalArgumentException("Application not found."));
 
         application.setHasReferral(true);
+        candidateRankingService.invalidateAfterCommit(List.of(application.getJobVacancy().getId()));
         return jobApplicationRepository.save(application);
     }
 
+    // Last row of a page: its apply time for the date view or its ranking score for the score view, and its id.
+    private record ApplicantCursor(String position, Long id) {
+
+        String encode() {
+            String raw = position + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        LocalDateTime appliedAt() {
+            try {
+                return LocalDateTime.parse(position);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+        }
+
+        double score() {
+            try {
+                return Double.parseDouble(position);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+        }
+
+        static ApplicantCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                return new ApplicantCursor(raw.substring(0, separator), Long.parseLong(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+        }
+    }
+
 }
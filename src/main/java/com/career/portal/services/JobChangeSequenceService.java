@@ -0,0 +1,33 @@
+package com.career.portal.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// Hands out job change sequence numbers. Incrementing the counter row locks it until the
+// caller's transaction commits, so sequence order matches commit order and a feed reader
+// that has seen N can never later see a commit numbered below N.
+@Service
+@RequiredArgsConstructor
+public class JobChangeSequenceService {
+
+    private static final String INCREMENT =
+            "UPDATE job_change_sequence SET last_value = LAST_INSERT_ID(last_value + 1) WHERE id = 1";
+
+    private static final String SEED =
+            "INSERT IGNORE INTO job_change_sequence (id, last_value) " +
+            "SELECT 1, COALESCE(MAX(change_seq), 0) FROM job_vacancy";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long next() {
+        if (jdbcTemplate.update(INCREMENT) == 0) {
+            jdbcTemplate.update(SEED);
+            jdbcTemplate.update(INCREMENT);
+        }
+        return jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+    }
+}
@@ -0,0 +1,297 @@
+package com.career.portal.services;
+
+import com.career.portal.dto.FacetedResults;
+import com.career.portal.dto.JobFilter;
+import com.career.portal.dto.JobVacancySummary;
+import com.career.portal.events.JobVacancyChangedEvent;
+import com.career.portal.repositories.JobVacancyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobFacetIndex {
+
+    public static final String FACET_JOB_TYPE = "jobType";
+    public static final String FACET_EXPERIENCE_LEVEL = "experienceLevel";
+    public static final String FACET_LOCATION = "location";
+    public static final String FACET_SALARY = "salary";
+
+    private static final List<String> FACETS = List.of(FACET_JOB_TYPE, FACET_EXPERIENCE_LEVEL, FACET_LOCATION, FACET_SALARY);
+
+    // Lower bounds of the salary buckets; the last bucket is open-ended.
+    private static final long[] SALARY_BOUNDS = {0, 50_000, 100_000, 150_000, 200_000};
+
+    private final JobVacancyRepository jobVacancyRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Each active vacancy gets a small dense ordinal so facet values can be stored as bitsets.
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final List<JobVacancySummary> vacancies = new ArrayList<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+    private final Map<String, Map<String, BitSet>> facets = new HashMap<>();
+    // Rebuilt in full, but only when a range filter needs them after a change, so a burst of changes
+    // costs one rebuild instead of one per event.
+    private IntervalIndex salaryRanges = IntervalIndex.EMPTY;
+    private IntervalIndex deadlines = IntervalIndex.EMPTY;
+    private volatile boolean intervalsStale;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<JobVacancySummary> active = jobVacancyRepository.findActiveSummaries();
+        lock.writeLock().lock();
+        try {
+            ordinals.clear();
+            vacancies.clear();
+            freeOrdinals.clear();
+            live.clear();
+            facets.clear();
+            active.forEach(this::add);
+            rebuildIntervals();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Job facet index built with {} active vacancies", active.size());
+    }
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVacancyChanged(JobVacancyChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.getVacancyIds().forEach(this::remove);
+            event.getActiveVacancies().forEach(vacancy -> add(JobVacancySummary.from(vacancy)));
+            intervalsStale = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public FacetedResults<JobVacancySummary> filter(JobFilter filter) {
+        Map<String, Collection<String>> selections = selections(filter);
+        boolean ranged = hasRangeFilter(filter);
+
+        lock.readLock().lock();
+        // Changes only mark the intervals stale under the write lock, so once this holds the read lock
+        // with them fresh they match the bitsets for the whole filter.
+        while (ranged && intervalsStale) {
+            lock.readLock().unlock();
+            refreshIntervals();
+            lock.readLock().lock();
+        }
+        try {
+            Map<String, BitSet> selected = new HashMap<>();
+            selections.forEach((facet, values) -> selected.put(facet, union(facet, values)));
+
+            BitSet scope = scope(filter);
+            BitSet matches = intersectAllExcept(scope, selected, null);
+
+            Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+            for (String facet : FACETS) {
+                // Counts ignore the facet's own selection so the UI can show what selecting another value would give.
+                BitSet base = selected.containsKey(facet) ? intersectAllExcept(scope, selected, facet) : matches;
+                Map<String, Integer> valueCounts = new TreeMap<>();
+                facets.getOrDefault(facet, Map.of()).forEach((value, bits) -> {
+                    BitSet hits = (BitSet) bits.clone();
+                    hits.and(base);
+                    valueCounts.put(value, hits.cardinality());
+                });
+                counts.put(facet, valueCounts);
+            }
+
+            List<JobVacancySummary> items = new ArrayList<>(matches.cardinality());
+            for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+                items.add(vacancies.get(ordinal));
+            }
+            items.sort(Comparator.comparing(JobVacancySummary::getPostedAt, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder())));
+            return new FacetedResults<>(items, items.size(), counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static String normalizeLocation(String location) {
+        return String.join(" ", TextTokenizer.tokenize(location));
+    }
+
+    private Map<String, Collection<String>> selections(JobFilter filter) {
+        Map<String, Collection<String>> selections = new HashMap<>();
+        if (filter.getJobType() != null && !filter.getJobType().isEmpty()) {
+            selections.put(FACET_JOB_TYPE, filter.getJobType().stream().map(Enum::name).toList());
+        }
+        if (filter.getExperienceLevel() != null && !filter.getExperienceLevel().isEmpty()) {
+            selections.put(FACET_EXPERIENCE_LEVEL, filter.getExperienceLevel().stream().map(Enum::name).toList());
+        }
+        if (filter.getLocation() != null && !filter.getLocation().isEmpty()) {
+            selections.put(FACET_LOCATION, filter.getLocation().stream().map(JobFacetIndex::normalizeLocation).toList());
+        }
+        if (filter.getSalary() != null && !filter.getSalary().isEmpty()) {
+            selections.put(FACET_SALARY, filter.getSalary());
+        }
+        return selections;
+    }
+
+    private BitSet union(String facet, Collection<String> values) {
+        BitSet result = new BitSet();
+        Map<String, BitSet> facetValues = facets.getOrDefault(facet, Map.of());
+        for (String value : values) {
+            BitSet bits = facetValues.get(value);
+            if (bits != null) {
+                result.or(bits);
+            }
+        }
+        return result;
+    }
+
+    // Live vacancies narrowed by the range constraints, which apply to every facet count.
+    private BitSet scope(JobFilter filter) {
+        BitSet scope = (BitSet) live.clone();
+        if (filter.getMinSalary() != null || filter.getMaxSalary() != null) {
+            double from = filter.getMinSalary() != null ? filter.getMinSalary() : Double.NEGATIVE_INFINITY;
+            double to = filter.getMaxSalary() != null ? filter.getMaxSalary() : Double.POSITIVE_INFINITY;
+            scope.and(salaryRanges.overlapping(from, to));
+        }
+        if (filter.getDeadlineAfter() != null) {
+            scope.and(deadlines.overlapping(Math.nextUp(epochSeconds(filter.getDeadlineAfter())), Double.POSITIVE_INFINITY));
+        }
+        return scope;
+    }
+
+    private static boolean hasRangeFilter(JobFilter filter) {
+        return filter.getMinSalary() != null || filter.getMaxSalary() != null || filter.getDeadlineAfter() != null;
+    }
+
+    private void refreshIntervals() {
+        lock.writeLock().lock();
+        try {
+            if (intervalsStale) {
+                rebuildIntervals();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private BitSet intersectAllExcept(BitSet scope, Map<String, BitSet> selected, String excludedFacet) {
+        BitSet result = (BitSet) scope.clone();
+        selected.forEach((facet, bits) -> {
+            if (!facet.equals(excludedFacet)) {
+                result.and(bits);
+            }
+        });
+        return result;
+    }
+
+    private void add(JobVacancySummary vacancy) {
+        int ordinal = freeOrdinals.isEmpty() ? vacancies.size() : freeOrdinals.pop();
+        if (ordinal == vacancies.size()) {
+            vacancies.add(vacancy);
+        } else {
+            vacancies.set(ordinal, vacancy);
+        }
+        ordinals.put(vacancy.getId(), ordinal);
+        live.set(ordinal);
+
+        if (vacancy.getJobType() != null) {
+            set(FACET_JOB_TYPE, vacancy.getJobType().name(), ordinal);
+        }
+        if (vacancy.getExperienceLevel() != null) {
+            set(FACET_EXPERIENCE_LEVEL, vacancy.getExperienceLevel().name(), ordinal);
+        }
+        String location = normalizeLocation(vacancy.getLocation());
+        if (!location.isEmpty()) {
+            set(FACET_LOCATION, location, ordinal);
+        }
+        for (String bucket : salaryBuckets(vacancy.getMinSalary(), vacancy.getMaxSalary())) {
+            set(FACET_SALARY, bucket, ordinal);
+        }
+    }
+
+    private void remove(Long vacancyId) {
+        Integer ordinal = ordinals.remove(vacancyId);
+        if (ordinal == null) {
+            return;
+        }
+        live.clear(ordinal);
+        vacancies.set(ordinal, null);
+        freeOrdinals.push(ordinal);
+        for (Map<String, BitSet> facetValues : facets.values()) {
+            facetValues.values().removeIf(bits -> {
+                bits.clear(ordinal);
+                return bits.isEmpty();
+            });
+        }
+    }
+
+    private void rebuildIntervals() {
+        IntervalIndex.Builder salaries = IntervalIndex.builder();
+        IntervalIndex.Builder closing = IntervalIndex.builder();
+        for (int ordinal = live.nextSetBit(0); ordinal >= 0; ordinal = live.nextSetBit(ordinal + 1)) {
+            JobVacancySummary vacancy = vacancies.get(ordinal);
+            if (vacancy.getMinSalary() != null || vacancy.getMaxSalary() != null) {
+                double low = vacancy.getMinSalary() != null ? vacancy.getMinSalary() : vacancy.getMaxSalary();
+                double high = vacancy.getMaxSalary() != null ? vacancy.getMaxSalary() : vacancy.getMinSalary();
+                salaries.add(low, high, ordinal);
+            }
+            // A vacancy without a deadline stays open indefinitely.
+            double deadline = vacancy.getApplicationDeadline() != null
+                    ? epochSeconds(vacancy.getApplicationDeadline())
+                    : Double.POSITIVE_INFINITY;
+            closing.add(deadline, deadline, ordinal);
+        }
+        salaryRanges = salaries.build();
+        deadlines = closing.build();
+        intervalsStale = false;
+    }
+
+    private static double epochSeconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) + time.getNano() / 1e9;
+    }
+
+    private void set(String facet, String value, int ordinal) {
+        facets.computeIfAbsent(facet, key -> new HashMap<>())
+                .computeIfAbsent(value, key -> new BitSet())
+                .set(ordinal);
+    }
+
+    // A vacancy belongs to every bucket its advertised range overlaps.
+    private static List<String> salaryBuckets(Double minSalary, Double maxSalary) {
+        if (minSalary == null && maxSalary == null) {
+            return List.of();
+        }
+        double low = minSalary != null ? minSalary : maxSalary;
+        double high = maxSalary != null ? maxSalary : minSalary;
+        List<String> buckets = new ArrayList<>();
+        for (int i = 0; i < SALARY_BOUNDS.length; i++) {
+            long lower = SALARY_BOUNDS[i];
+            boolean last = i == SALARY_BOUNDS.length - 1;
+            long upper = last ? Long.MAX_VALUE : SALARY_BOUNDS[i + 1];
+            if (high >= lower && low < upper) {
+                buckets.add(last ? lower + "+" : lower + "-" + upper);
+            }
+        }
+        return buckets;
+    }
+}
@@ -0,0 +1,163 @@
+package com.career.portal.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Streams vacancy changes for job boards straight from a JDBC cursor; rows are never collected into a list.
+@Service
+@RequiredArgsConstructor
+public class JobFeedService {
+
+    private static final String COLUMNS = "SELECT id, change_seq, is_active, title, description, location, job_type, " +
+            "experience_level, min_salary, max_salary, posted_at, application_deadline FROM job_vacancy ";
+
+    // With no cursor the feed is a snapshot of open jobs; with one it is every change after it, closures included.
+    private static final String SNAPSHOT = COLUMNS + "WHERE is_active = true AND change_seq <= ? ORDER BY change_seq, id";
+    private static final String CHANGES = COLUMNS + "WHERE change_seq > ? AND change_seq <= ? ORDER BY change_seq, id";
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.base-url}")
+    private String baseUrl;
+
+    private JdbcTemplate streamingJdbcTemplate;
+
+    @PostConstruct
+    void init() {
+        streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        // Tells MySQL Connector/J to stream rows one at a time instead of buffering the whole result.
+        streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    // Upper bound for one feed response, sent to clients up front as their next cursor.
+    public long currentCursor() {
+        Long max = streamingJdbcTemplate.queryForObject("SELECT COALESCE(MAX(change_seq), 0) FROM job_vacancy", Long.class);
+        return max == null ? 0 : max;
+    }
+
+    public void writeNdjson(Long since, long upTo, OutputStream out) {
+        stream(since, upTo, rs -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(toMap(rs)));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public void writeRss(Long since, long upTo, OutputStream out) {
+        try {
+            XMLStreamWriter xml = XMLOutputFactory.newInstance().createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+            xml.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            xml.writeStartElement("rss");
+            xml.writeAttribute("version", "2.0");
+            xml.writeStartElement("channel");
+            element(xml, "title", "Career Portal jobs");
+            element(xml, "link", baseUrl + "/api/jobs");
+            element(xml, "description", "Job vacancies changed since sequence " + (since == null ? 0 : since));
+
+            stream(since, upTo, rs -> {
+                try {
+                    writeItem(xml, rs);
+                } catch (XMLStreamException e) {
+                    throw new IllegalStateException("Could not write RSS item", e);
+                }
+            });
+
+            xml.writeEndElement();
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.flush();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Could not write RSS feed", e);
+        }
+    }
+
+    private void stream(Long since, long upTo, RowCallbackHandler handler) {
+        if (since == null) {
+            streamingJdbcTemplate.query(SNAPSHOT, handler, upTo);
+        } else {
+            streamingJdbcTemplate.query(CHANGES, handler, since, upTo);
+        }
+    }
+
+    private Map<String, Object> toMap(ResultSet rs) throws SQLException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", rs.getLong("id"));
+        row.put("changeSeq", rs.getLong("change_seq"));
+        boolean active = rs.getBoolean("is_active");
+        row.put("op", active ? "upsert" : "delete");
+        if (active) {
+            row.put("title", rs.getString("title"));
+            row.put("description", rs.getString("description"));
+            row.put("location", rs.getString("location"));
+            row.put("jobType", rs.getString("job_type"));
+            row.put("experienceLevel", rs.getString("experience_level"));
+            row.put("minSalary", rs.getObject("min_salary"));
+            row.put("maxSalary", rs.getObject("max_salary"));
+            row.put("postedAt", toLocal(rs.getTimestamp("posted_at")));
+            row.put("applicationDeadline", toLocal(rs.getTimestamp("application_deadline")));
+        }
+        return row;
+    }
+
+    private void writeItem(XMLStreamWriter xml, ResultSet rs) throws XMLStreamException, SQLException {
+        long id = rs.getLong("id");
+        boolean active = rs.getBoolean("is_active");
+        xml.writeStartElement("item");
+        element(xml, "title", (active ? "" : "[Closed] ") + rs.getString("title"));
+        element(xml, "link", baseUrl + "/api/jobs/" + id);
+        xml.writeStartElement("guid");
+        xml.writeAttribute("isPermaLink", "false");
+        xml.writeCharacters("job-" + id + "-" + rs.getLong("change_seq"));
+        xml.writeEndElement();
+        if (active) {
+            element(xml, "description", rs.getString("description"));
+            element(xml, "category", rs.getString("job_type"));
+            element(xml, "category", rs.getString("experience_level"));
+        } else {
+            element(xml, "category", "CLOSED");
+        }
+        Timestamp postedAt = rs.getTimestamp("posted_at");
+        if (postedAt != null) {
+            element(xml, "pubDate", DateTimeFormatter.RFC_1123_DATE_TIME.format(postedAt.toLocalDateTime().atZone(ZoneId.systemDefault())));
+        }
+        xml.writeEndElement();
+    }
+
+    private static void element(XMLStreamWriter xml, String name, String text) throws XMLStreamException {
+        if (text == null) {
+            return;
+        }
+        xml.writeStartElement(name);
+        xml.writeCharacters(text);
+        xml.writeEndElement();
+    }
+
+    private static Object toLocal(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
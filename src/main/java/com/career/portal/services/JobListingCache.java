@@ -0,0 +1,89 @@
+package com.career.portal.services;
+
+import com.career.portal.events.JobVacancyChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobListingCache {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${jobs.cache.max-size:1000}")
+    private int maxSize;
+
+    @Value("${jobs.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    // Every job write moves the cache to a new version; entries of older versions are never read again.
+    private final AtomicLong version = new AtomicLong();
+    private TtlCache<String, CachedJson> responses;
+
+    public record CachedJson(byte[] body, String etag) {
+    }
+
+    @PostConstruct
+    void init() {
+        responses = new TtlCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    public Optional<CachedJson> get(String key, Supplier<?> loader) {
+        // Read the version before loading, so data loaded while a write commits is filed under the old version.
+        String versionedKey = version.get() + "|" + key;
+        return Optional.ofNullable(responses.get(versionedKey, ignored -> {
+            Object value = loader.get();
+            return value == null ? null : serialize(value);
+        }));
+    }
+
+    // Runs after the search and facet indexes have applied the same change.
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVacancyChanged(JobVacancyChangedEvent event) {
+        long current = version.incrementAndGet();
+        String prefix = current + "|";
+        responses.invalidateIf((key, value) -> !key.startsWith(prefix));
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = responses.stats();
+        stats.put("version", version.get());
+        return stats;
+    }
+
+    private CachedJson serialize(Object value) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(value);
+            return new CachedJson(body, etag(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize job listing", e);
+        }
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.career.portal.services;
+
+import com.career.portal.dto.JobVacancySummary;
+import com.career.portal.events.JobVacancyChangedEvent;
+import com.career.portal.models.JobVacancy;
+import com.career.portal.repositories.JobVacancyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double TITLE_WEIGHT = 3.0;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+
+    private final JobVacancyRepository jobVacancyRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // term -> (vacancy id -> field-weighted term frequency)
+    private final TreeMap<String, Map<Long, Double>> postings = new TreeMap<>();
+    private final Map<Long, IndexedJob> documents = new HashMap<>();
+    private double totalLength;
+
+    private record IndexedJob(JobVacancySummary vacancy, double length, Map<String, Double> termFrequencies) {
+    }
+
+    private record ScoredJob(JobVacancySummary vacancy, double score) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        // Full rows are needed once here for the description text; only summaries are kept.
+        List<JobVacancy> active = jobVacancyRepository.findByIsActiveTrue();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+            active.forEach(this::addDocument);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Job search index built with {} active vacancies and {} terms", active.size(), postings.size());
+    }
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVacancyChanged(JobVacancyChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.getVacancyIds().forEach(this::removeDocument);
+            event.getActiveVacancies().forEach(this::addDocument);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<JobVacancySummary> search(String query, int limit) {
+        List<String> terms = TextTokenizer.tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return List.of();
+            }
+            double averageLength = totalLength / documents.size();
+            Map<Long, Double> scores = new HashMap<>();
+
+            for (int i = 0; i < terms.size(); i++) {
+                String term = terms.get(i);
+                boolean isLast = i == terms.size() - 1;
+                if (isLast) {
+                    // The last word may still be being typed, so it also matches as a prefix.
+                    int expansions = 0;
+                    for (Map.Entry<String, Map<Long, Double>> entry : prefixRange(term).entrySet()) {
+                        accumulate(scores, entry.getValue(), averageLength);
+                        if (++expansions >= MAX_PREFIX_EXPANSIONS) {
+                            break;
+                        }
+                    }
+                } else {
+                    Map<Long, Double> termPostings = postings.get(term);
+                    if (termPostings != null) {
+                        accumulate(scores, termPostings, averageLength);
+                    }
+                }
+            }
+
+            List<ScoredJob> ranked = new ArrayList<>(scores.size());
+            scores.forEach((id, score) -> ranked.add(new ScoredJob(documents.get(id).vacancy(), score)));
+            ranked.sort(Comparator.comparingDouble(ScoredJob::score).reversed()
+                    .thenComparing(scored -> scored.vacancy().getPostedAt(), Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder())));
+
+            return ranked.stream().limit(limit).map(ScoredJob::vacancy).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private SortedMap<String, Map<Long, Double>> prefixRange(String prefix) {
+        return postings.subMap(prefix, prefix + Character.MAX_VALUE);
+    }
+
+    private void accumulate(Map<Long, Double> scores, Map<Long, Double> termPostings, double averageLength) {
+        int documentCount = documents.size();
+        int documentFrequency = termPostings.size();
+        double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+
+        termPostings.forEach((id, tf) -> {
+            double length = documents.get(id).length();
+            double norm = K1 * (1 - B + B * length / averageLength);
+            scores.merge(id, idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+        });
+    }
+
+    private void addDocument(JobVacancy vacancy) {
+        Map<String, Double> frequencies = new HashMap<>();
+        List<String> titleTerms = TextTokenizer.tokenize(vacancy.getTitle());
+        List<String> descriptionTerms = TextTokenizer.tokenize(vacancy.getDescription());
+        titleTerms.forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Double::sum));
+        descriptionTerms.forEach(term -> frequencies.merge(term, 1.0, Double::sum));
+
+        double length = titleTerms.size() * TITLE_WEIGHT + descriptionTerms.size();
+        frequencies.forEach((term, tf) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(vacancy.getId(), tf));
+        documents.put(vacancy.getId(), new IndexedJob(JobVacancySummary.from(vacancy), length, frequencies));
+        totalLength += length;
+    }
+
+    private void removeDocument(Long id) {
+        IndexedJob existing = documents.remove(id);
+        if (existing == null) {
+            return;
+        }
+        totalLength -= existing.length();
+        existing.termFrequencies().keySet().forEach(term -> {
+            Map<Long, Double> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(id);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package com.career.portal.services;
+
+import com.career.portal.events.JobVacancyChangedEvent;
+import com.career.portal.models.JobVacancy;
+import com.career.portal.repositories.JobVacancyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+// Keeps this node's in-memory job views in step with writes made on other nodes. Every vacancy write stamps
+// change_seq, and the sequence row lock makes numbers commit in order, so reading past a watermark never
+// skips a committed change. Changes made on this node are seen twice; the listeners are idempotent.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JobVacancyChangeWatcher {
+
+    private final JobVacancyRepository jobVacancyRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${jobs.sync.batch-size:500}")
+    private int batchSize;
+
+    private long lastSeq = -1;
+    private long lastId = Long.MAX_VALUE;
+
+    // Runs before the indexes load, so anything committed while they rebuild is picked up by the next poll.
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        lastSeq = jobVacancyRepository.findMaxChangeSeq();
+        lastId = Long.MAX_VALUE;
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.sync.interval-ms:10000}")
+    public synchronized void poll() {
+        if (lastSeq < 0) {
+            return;
+        }
+        List<JobVacancy> changed;
+        do {
+            changed = jobVacancyRepository.findChangedAfter(lastSeq, lastId, PageRequest.of(0, batchSize));
+            if (changed.isEmpty()) {
+                break;
+            }
+            eventPublisher.publishEvent(JobVacancyChangedEvent.changed(changed));
+            JobVacancy last = changed.get(changed.size() - 1);
+            lastSeq = last.getChangeSeq();
+            lastId = last.getId();
+            log.debug("Applied {} vacancy changes up to change_seq {}", changed.size(), lastSeq);
+        } while (changed.size() == batchSize);
+    }
+}
@@ -1,15 +1,26 @@
 package com.career.portal.services;
 
+import com.career.portal.dto.CursorPage;
+import com.career.portal.dto.FacetedResults;
+import com.career.portal.dto.JobFilter;
+import com.career.portal.dto.JobVacancySummary;
+import com.career.portal.events.JobVacancyChangedEvent;
 import com.career.portal.models.ExperienceLevel;
 import com.career.portal.models.JobType;
 import com.career.portal.models.JobVacancy;
 import com.career.portal.repositories.JobVacancyRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.batch.BatchProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,17 +30,34 @@ import java.util.Optional;
 public class JobVacancyService {
 
     private final JobVacancyRepository jobVacancyRepository;
+    private final JobSearchIndex jobSearchIndex;
+    private final JobFacetIndex jobFacetIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JobChangeSequenceService changeSequence;
 
-    public JobVacancy createJobVacancy(JobVacancy jobVacancy){
-        return jobVacancyRepository.save(jobVacancy);
-    }
+    @Value("${jobs.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${jobs.page.max-size:100}")
+    private int maxPageSize;
 
-    public List<JobVacancy> getAllActiveVacancies(){
-        return jobVacancyRepository.findByIsActiveTrueOrderByPostedAtDesc();
+    @Value("${jobs.search.max-results:100}")
+    private int maxSearchResults;
+
+    public JobVacancy createJobVacancy(JobVacancy jobVacancy){
+        jobVacancy.setChangeSeq(changeSequence.next());
+        JobVacancy saved = jobVacancyRepository.save(jobVacancy);
+        if (Boolean.FALSE.equals(saved.getIsActive())) {
+            jobVacancyRepository.markClosed(saved.getId(), LocalDateTime.now());
+        } else {
+            jobVacancyRepository.clearClosed(saved.getId());
+        }
+        eventPublisher.publishEvent(JobVacancyChangedEvent.of(saved));
+        return saved;
     }
 
-    public List<JobVacancy> getActiveVacanciesWithinDeadline(){
-        return jobVacancyRepository.findActiveVacanciesWithinDeadline(LocalDateTime.now());
+    public List<JobVacancySummary> getAllActiveVacancies(){
+        return jobVacancyRepository.findActiveSummaries();
     }
 
     public Optional<JobVacancy> findById(Long id){
@@ -48,23 +76,86 @@ public class JobVacancyService {
         return jobVacancyRepository.findActiveVacanciesByExperienceLevelAndJobType(experienceLevel, jobType);
     }
 
-    public List<JobVacancy> searchVacancies(String keyword){
-        return jobVacancyRepository.searchByKeyword(keyword);
+    public List<JobVacancySummary> searchVacancies(String keyword){
+        return jobSearchIndex.search(keyword, maxSearchResults);
+    }
+
+    public FacetedResults<JobVacancySummary> filterVacancies(JobFilter filter){
+        return jobFacetIndex.filter(filter);
     }
 
     public JobVacancy updateJobVacancy(JobVacancy jobVacancy){
-        return jobVacancyRepository.save(jobVacancy);
+        // Request bodies usually leave postedAt out; keep the stored one so the saved entity, its change
+        // event and the page cursors built from it never see a null.
+        jobVacancyRepository.findById(jobVacancy.getId())
+                .ifPresent(stored -> jobVacancy.setPostedAt(stored.getPostedAt()));
+        jobVacancy.setChangeSeq(changeSequence.next());
+        JobVacancy saved = jobVacancyRepository.save(jobVacancy);
+        if (Boolean.FALSE.equals(saved.getIsActive())) {
+            jobVacancyRepository.markClosed(saved.getId(), LocalDateTime.now());
+        } else {
+            jobVacancyRepository.clearClosed(saved.getId());
+        }
+        eventPublisher.publishEvent(JobVacancyChangedEvent.of(saved));
+        return saved;
     }
 
     public void deactivateJobVacancy(Long id){
         JobVacancy vacancy = jobVacancyRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Job Vacancy Not Found"));
         vacancy.setIsActive(false);
+        vacancy.setChangeSeq(changeSequence.next());
         jobVacancyRepository.save(vacancy);
+        jobVacancyRepository.markClosed(id, LocalDateTime.now());
+        eventPublisher.publishEvent(JobVacancyChangedEvent.of(vacancy));
+    }
+
+    public List<JobVacancySummary> findVacanciesByRecruiter(Long recruiterId){
+        return jobVacancyRepository.findSummariesByPostedBy(recruiterId);
+    }
+
+    public CursorPage<JobVacancySummary> getActiveVacanciesPage(String cursor, Integer size, JobType jobType, ExperienceLevel experienceLevel){
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        // One extra row tells us whether another page exists without a COUNT query.
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<JobVacancySummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = jobVacancyRepository.findActivePage(jobType, experienceLevel, limit);
+        } else {
+            JobCursor position = JobCursor.decode(cursor);
+            rows = jobVacancyRepository.findActivePageAfter(jobType, experienceLevel, position.postedAt(), position.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<JobVacancySummary> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            JobVacancySummary last = items.get(items.size() - 1);
+            nextCursor = new JobCursor(last.getPostedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(items, nextCursor, hasMore);
     }
 
-    public List<JobVacancy> findVacanciesByRecruiter(Long recruiterId){
-        return jobVacancyRepository.findByPostedBy(recruiterId);
+    // postedAt is null for rows saved before updates kept it; those sort last and encode as "|id".
+    private record JobCursor(LocalDateTime postedAt, Long id) {
+
+        String encode() {
+            String raw = (postedAt == null ? "" : postedAt.toString()) + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static JobCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                String postedAt = raw.substring(0, separator);
+                return new JobCursor(postedAt.isEmpty() ? null : LocalDateTime.parse(postedAt),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+        }
     }
 
 
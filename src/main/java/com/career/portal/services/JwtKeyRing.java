@@ -0,0 +1,181 @@
+package com.career.portal.services;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Slf4j
+@Component
+public class JwtKeyRing {
+
+    // Only needed for HS256, and for ES256 while jwt.es256.accept-hmac-until is set.
+    @Value("${jwt.secret:}")
+    private String secret;
+
+    @Value("${jwt.key-id:k1}")
+    private String hmacKeyId;
+
+    // Retired HMAC secrets that still verify live tokens, as "kid:base64secret,kid:base64secret".
+    @Value("${jwt.previous-keys:}")
+    private String previousHmacKeys;
+
+    @Value("${jwt.algorithm:HS256}")
+    private String algorithm;
+
+    @Value("${jwt.es256.key-id:es1}")
+    private String ecKeyId;
+
+    @Value("${jwt.es256.private-key:}")
+    private String ecPrivateKey;
+
+    @Value("${jwt.es256.public-key:}")
+    private String ecPublicKey;
+
+    // Retired EC public keys, as "kid:base64X509,kid:base64X509".
+    @Value("${jwt.es256.previous-public-keys:}")
+    private String previousEcPublicKeys;
+
+    // While moving from HS256 to ES256, HMAC-signed tokens keep verifying until this instant (ISO-8601).
+    // Left empty, ES256 mode accepts EC signatures only, so the shared secret cannot mint tokens.
+    @Value("${jwt.es256.accept-hmac-until:}")
+    private String acceptHmacUntil;
+
+    private SignatureAlgorithm signingAlgorithm;
+    private String signingKeyId;
+    private Key signingKey;
+    private Instant hmacAcceptedUntil;
+    private final Map<String, Key> hmacKeys = new LinkedHashMap<>();
+    private final Map<String, PublicKey> publicKeys = new LinkedHashMap<>();
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() throws GeneralSecurityException {
+        signingAlgorithm = SignatureAlgorithm.forName(algorithm);
+        if (signingAlgorithm == SignatureAlgorithm.HS256) {
+            hmacAcceptedUntil = Instant.MAX;
+        } else if (!acceptHmacUntil.isBlank()) {
+            hmacAcceptedUntil = Instant.parse(acceptHmacUntil);
+        }
+        if (hmacAcceptedUntil != null) {
+            if (secret.isBlank()) {
+                throw new IllegalStateException("jwt.secret is required to sign or verify HS256 tokens");
+            }
+            hmacKeys.put(hmacKeyId, hmacKey(secret));
+            for (Map.Entry<String, String> entry : parseKeyList(previousHmacKeys).entrySet()) {
+                hmacKeys.put(entry.getKey(), hmacKey(entry.getValue()));
+            }
+        }
+
+        if (signingAlgorithm == SignatureAlgorithm.HS256) {
+            signingKeyId = hmacKeyId;
+            signingKey = hmacKeys.get(hmacKeyId);
+        } else if (signingAlgorithm == SignatureAlgorithm.ES256) {
+            if (ecPrivateKey.isBlank() || ecPublicKey.isBlank()) {
+                throw new IllegalStateException("jwt.algorithm=ES256 requires jwt.es256.private-key and jwt.es256.public-key");
+            }
+            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            signingKeyId = ecKeyId;
+            signingKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Decoders.BASE64.decode(ecPrivateKey)));
+            publicKeys.put(ecKeyId, keyFactory.generatePublic(new X509EncodedKeySpec(Decoders.BASE64.decode(ecPublicKey))));
+            for (Map.Entry<String, String> entry : parseKeyList(previousEcPublicKeys).entrySet()) {
+                publicKeys.put(entry.getKey(), keyFactory.generatePublic(new X509EncodedKeySpec(Decoders.BASE64.decode(entry.getValue()))));
+            }
+        } else {
+            throw new IllegalStateException("Unsupported jwt.algorithm: " + algorithm);
+        }
+
+        parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolve(header.getKeyId());
+                    }
+                })
+                .build();
+
+        log.info("JWT key ring ready: signing with {} key '{}', {} EC and {} HMAC verification keys",
+                signingAlgorithm, signingKeyId, publicKeys.size(), hmacKeys.size());
+        if (signingAlgorithm == SignatureAlgorithm.ES256 && hmacAcceptedUntil != null) {
+            log.warn("HS256 tokens are still accepted until {}", hmacAcceptedUntil);
+        }
+    }
+
+    public JwtParser parser() {
+        return parser;
+    }
+
+    public JwtBuilder sign(JwtBuilder builder) {
+        return builder.setHeaderParam(JwsHeader.KEY_ID, signingKeyId).signWith(signingKey, signingAlgorithm);
+    }
+
+    public String getSigningAlgorithm() {
+        return signingAlgorithm.getValue();
+    }
+
+    public Map<String, String> getPublicKeys() {
+        Map<String, String> encoded = new LinkedHashMap<>();
+        publicKeys.forEach((kid, key) -> encoded.put(kid, Base64.getEncoder().encodeToString(key.getEncoded())));
+        return encoded;
+    }
+
+    private Key resolve(String keyId) {
+        // Tokens issued before key ids were introduced carry no kid and were signed with jwt.secret;
+        // they only ever verify in HS256 mode.
+        if (keyId == null) {
+            if (signingAlgorithm != SignatureAlgorithm.HS256) {
+                throw new UnsupportedJwtException("JWT without a key id");
+            }
+            keyId = hmacKeyId;
+        }
+        Key key = publicKeys.get(keyId);
+        if (key != null) {
+            return key;
+        }
+        key = hmacKeys.get(keyId);
+        if (key != null && Instant.now().isBefore(hmacAcceptedUntil)) {
+            return key;
+        }
+        throw new UnsupportedJwtException("Unknown JWT key id: " + keyId);
+    }
+
+    private static Key hmacKey(String base64Secret) {
+        return new SecretKeySpec(Decoders.BASE64.decode(base64Secret), SignatureAlgorithm.HS256.getJcaName());
+    }
+
+    private static Map<String, String> parseKeyList(String keyList) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        if (keyList == null || keyList.isBlank()) {
+            return keys;
+        }
+        for (String item : keyList.split(",")) {
+            int separator = item.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalStateException("Key entries must look like kid:base64key");
+            }
+            keys.put(item.substring(0, separator).trim(), item.substring(separator + 1).trim());
+        }
+        return keys;
+    }
+}
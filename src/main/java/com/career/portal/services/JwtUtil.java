@@ -1,9 +1,13 @@
 package com.career.portal.services;
 
+import com.career.portal.models.AuthenticatedUser;
 import com.career.portal.models.User;
+import com.career.portal.models.UserPrincipal;
+import com.career.portal.models.UserRole;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,76 +16,129 @@ import org.springframework.stereotype.Service;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_ENABLED = "enabled";
+    public static final String CLAIM_LOCKED = "locked";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
+    private final TokenVersionStore tokenVersionStore;
+    private final JwtKeyRing keyRing;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    @Value("${jwt.cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    private TtlCache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    void initCache() {
+        verifiedTokens = new TtlCache<>(cacheMaxSize, expiration);
+    }
+
     public String extractUsername(String token){
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).getSubject();
     }
 
     public Date extractExpiration(String token){
-        return extractClaim(token, Claims::getExpiration);
+        return verify(token).getExpiration();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver){
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(verify(token).getClaims());
     }
 
-    private Claims extractAllClaims(String token){
-        return Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody();
+    public VerifiedToken verify(String token){
+        String cacheKey = TokenHasher.sha256Hex(token);
+        VerifiedToken cached = verifiedTokens.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = extractAllClaims(token);
+        VerifiedToken verified = new VerifiedToken(claims.getSubject(), claims.getExpiration(), claims);
+        if (verified.getExpiration() != null) {
+            verifiedTokens.put(cacheKey, verified, verified.getExpiration().getTime());
+        }
+        return verified;
     }
 
-    private boolean isTokenExpired(String token){
-        final Date expiration = extractExpiration(token);
-        return expiration.before(new Date());
+    public Map<String, Long> getVerifiedTokenCacheStats(){
+        return verifiedTokens.stats();
+    }
+
+    private Claims extractAllClaims(String token){
+        return keyRing.parser().parseClaimsJws(token).getBody();
     }
 
     public String generateToken(UserDetails userDetails){
         Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof UserPrincipal principal) {
+            claims.put(CLAIM_USER_ID, principal.getId());
+            claims.put(CLAIM_ROLE, principal.getRole().name());
+            claims.put(CLAIM_ENABLED, principal.isEnabled());
+            claims.put(CLAIM_LOCKED, !principal.isAccountNonLocked());
+            claims.put(CLAIM_TOKEN_VERSION, tokenVersionStore.current(principal.getId()));
+        }
         return createToken(claims, userDetails.getUsername());
     }
 
+    public Optional<AuthenticatedUser> toPrincipal(VerifiedToken token){
+        Claims claims = token.getClaims();
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        Number version = claims.get(CLAIM_TOKEN_VERSION, Number.class);
+        if (userId == null || role == null || version == null) {
+            log.debug("Token for {} does not carry principal claims", token.getSubject());
+            return Optional.empty();
+        }
+        if (!tokenVersionStore.isCurrent(userId.longValue(), version.intValue())) {
+            log.debug("Token version {} for user {} has been revoked", version, userId);
+            return Optional.empty();
+        }
+        return Optional.of(new AuthenticatedUser(
+                userId.longValue(),
+                token.getSubject(),
+                UserRole.valueOf(role),
+                Boolean.TRUE.equals(claims.get(CLAIM_ENABLED, Boolean.class)),
+                Boolean.TRUE.equals(claims.get(CLAIM_LOCKED, Boolean.class))));
+    }
+
     private String createToken(Map<String, Object> claims, String subject){
-        return Jwts.builder().setClaims(claims).setSubject(subject).setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(SignatureAlgorithm.HS256, secret).compact();
+        return keyRing.sign(Jwts.builder().setClaims(claims).setSubject(subject).setId(UUID.randomUUID().toString())
+                .setIssuedAt(new Date(System.currentTimeMillis()))
+                .setExpiration(new Date(System.currentTimeMillis() + expiration))).compact();
     }
 
     public boolean validateToken(String token, UserDetails userDetails){
-        log.debug("Validating JWT token for user: {}", userDetails.getUsername());
         try{
-            final String username = extractUsername(token);
-            log.debug("Token username: {}, UserDetails username: {}", username, userDetails.getUsername());
-            boolean isUsernameValid = username.equals(userDetails.getUsername());
-            boolean isTokenNotExpired = !isTokenExpired(token);
-
-            log.debug("Username valid: {}", isUsernameValid);
-            log.debug("Token not expired: {}", isTokenNotExpired);
-
-            if (isTokenNotExpired) {
-                Date expiration = extractExpiration(token);
-                log.debug("Token expires at: {}", expiration);
-                log.debug("Current time: {}", new Date());
-            }
-
-            boolean isValid = isUsernameValid && isTokenNotExpired;
-            log.debug("Overall token validation result: {}", isValid);
-
-            return isValid;
+            return validateToken(verify(token), userDetails);
         }catch (Exception e){
             log.error("Error validating JWT token", e);
             return false;
         }
     }
 
+    public boolean validateToken(VerifiedToken token, UserDetails userDetails){
+        log.debug("Validating JWT token for user: {}", userDetails.getUsername());
+        boolean isUsernameValid = userDetails.getUsername().equals(token.getSubject());
+        boolean isTokenNotExpired = !token.isExpired();
+
+        log.debug("Username valid: {}, token not expired: {}, expires at: {}",
+                isUsernameValid, isTokenNotExpired, token.getExpiration());
+
+        return isUsernameValid && isTokenNotExpired;
+    }
+
 }
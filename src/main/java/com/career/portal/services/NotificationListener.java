@@ -0,0 +1,79 @@
+package com.career.portal.services;
+
+import com.career.portal.events.ApplicationStatusChangedEvent;
+import com.career.portal.events.AssessmentCompletedEvent;
+import com.career.portal.events.ApplicationSubmittedEvent;
+import com.career.portal.events.ReferralCreatedEvent;
+import com.career.portal.events.UserRegisteredEvent;
+import com.career.portal.models.ApplicationStatus;
+import com.career.portal.models.JobApplication;
+import com.career.portal.repositories.AssessmentRepository;
+import com.career.portal.repositories.JobApplicationRepository;
+import com.career.portal.repositories.ReferralRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+// Sends the emails that used to go out inline with the request. Runs on the domain event workers,
+// after the triggering transaction has committed, and reloads what it needs by id.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationListener {
+
+    private final EmailService emailService;
+    private final UserService userService;
+    private final JobApplicationRepository jobApplicationRepository;
+    private final AssessmentRepository assessmentRepository;
+    private final ReferralRepository referralRepository;
+
+    @EventListener
+    public void onUserRegistered(UserRegisteredEvent event) {
+        try {
+            userService.resendVerificationEmail(event.getEmail());
+        } catch (IllegalStateException e) {
+            log.debug("User {} verified before the verification email went out", event.getUserId());
+        }
+    }
+
+    @EventListener
+    public void onApplicationSubmitted(ApplicationSubmittedEvent event) {
+        findApplication(event.getApplicationId()).ifPresent(application ->
+                emailService.sendApplicationConfirmationEmail(application.getUser(), application.getJobVacancy()));
+    }
+
+    @EventListener
+    public void onStatusChanged(ApplicationStatusChangedEvent event) {
+        if (event.getStatus() != ApplicationStatus.SHORTLISTED) {
+            return;
+        }
+        Optional<String> token = assessmentRepository.findTokenByJobApplicationId(event.getApplicationId());
+        if (token.isEmpty()) {
+            log.warn("Application {} was shortlisted without an assessment", event.getApplicationId());
+            return;
+        }
+        findApplication(event.getApplicationId()).ifPresent(application ->
+                emailService.sendShortlistEmail(application.getUser(), application.getJobVacancy(), token.get()));
+    }
+
+    @EventListener
+    public void onAssessmentCompleted(AssessmentCompletedEvent event) {
+        findApplication(event.getApplicationId()).ifPresent(application ->
+                emailService.sendAssessmentConfirmationEmail(application.getUser(), application.getJobVacancy()));
+    }
+
+    @EventListener
+    public void onReferralCreated(ReferralCreatedEvent event) {
+        referralRepository.findWithPartiesById(event.getReferralId()).ifPresent(referral ->
+                emailService.sendReferralNotificationEmail(referral.getReferredUser(), referral.getReferrer(), referral.getJobVacancy()));
+    }
+
+    private Optional<JobApplication> findApplication(Long applicationId) {
+        List<JobApplication> found = jobApplicationRepository.findWithUserAndVacancyByIdIn(List.of(applicationId));
+        return found.stream().findFirst();
+    }
+}
@@ -0,0 +1,75 @@
+package com.career.portal.services;
+
+import com.career.portal.models.OneTimeToken;
+import com.career.portal.models.OneTimeTokenPurpose;
+import com.career.portal.repositories.OneTimeTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class OneTimeTokenService {
+
+    private final OneTimeTokenRepository oneTimeTokenRepository;
+
+    @Value("${one-time-tokens.sweep-chunk-size:500}")
+    private int sweepChunkSize;
+
+    // Issuing a new token replaces any outstanding one for the same purpose.
+    public String issue(Long userId, OneTimeTokenPurpose purpose, Duration ttl) {
+        oneTimeTokenRepository.deleteByUserIdAndPurpose(userId, purpose);
+
+        String rawToken = TokenHasher.newRandomToken();
+        OneTimeToken token = new OneTimeToken();
+        token.setTokenHash(TokenHasher.sha256Hex(rawToken));
+        token.setPurpose(purpose);
+        token.setUserId(userId);
+        token.setExpiresAt(LocalDateTime.now().plus(ttl));
+        oneTimeTokenRepository.save(token);
+        return rawToken;
+    }
+
+    public Optional<OneTimeToken> find(String rawToken, OneTimeTokenPurpose purpose) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return Optional.empty();
+        }
+        return oneTimeTokenRepository.findByTokenHashAndPurpose(TokenHasher.sha256Hex(rawToken), purpose);
+    }
+
+    public void consume(OneTimeToken token) {
+        oneTimeTokenRepository.delete(token);
+    }
+
+    // Each chunk commits on its own so the sweep never holds long locks.
+    @Scheduled(fixedDelayString = "${one-time-tokens.sweep-interval-ms:900000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void deleteExpiredTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        List<Long> ids;
+        do {
+            ids = oneTimeTokenRepository.findExpiredIds(now, PageRequest.of(0, sweepChunkSize));
+            if (!ids.isEmpty()) {
+                oneTimeTokenRepository.deleteAllByIdInBatch(ids);
+                total += ids.size();
+            }
+        } while (ids.size() == sweepChunkSize);
+
+        if (total > 0) {
+            log.info("Deleted {} expired one-time tokens", total);
+        }
+    }
+}
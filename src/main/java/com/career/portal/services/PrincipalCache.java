@@ -0,0 +1,79 @@
+package com.career.portal.services;
+
+import com.career.portal.models.AuthenticatedUser;
+import com.career.portal.models.User;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+// Immutable principals for the request filter, so authenticated requests skip the user lookup. Entries are
+// stamped with the user's token version: a role change or password reset made through another node bumps it,
+// and the entry is reloaded once TokenVersionStore has picked that up (jwt.revocation.reload-interval-ms).
+// Other changes made elsewhere, such as an email verification, show up within the TTL.
+@Component
+@RequiredArgsConstructor
+public class PrincipalCache {
+
+    private final TokenVersionStore tokenVersionStore;
+
+    @Value("${auth.principal-cache.max-size:5000}")
+    private int maxSize;
+
+    @Value("${auth.principal-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private TtlCache<String, Entry> principals;
+
+    private record Entry(AuthenticatedUser principal, int tokenVersion) {
+    }
+
+    @PostConstruct
+    void init() {
+        principals = new TtlCache<>(maxSize, ttlSeconds * 1000);
+    }
+
+    public Optional<AuthenticatedUser> get(String email, Function<String, Optional<User>> loader) {
+        Entry entry = principals.get(email);
+        if (entry != null && isCurrent(entry)) {
+            return Optional.of(entry.principal());
+        }
+        Optional<User> user = loader.apply(email);
+        if (user.isEmpty()) {
+            principals.invalidate(email);
+            return Optional.empty();
+        }
+        entry = new Entry(AuthenticatedUser.from(user.get()), user.get().getTokenVersion());
+        principals.put(email, entry);
+        return Optional.of(entry.principal());
+    }
+
+    // Evicts now so this node stops serving the old principal, and again after commit
+    // so a concurrent request cannot re-cache the pre-commit row.
+    public void evict(String email) {
+        principals.invalidate(email);
+        TransactionHooks.afterCommit(() -> principals.invalidate(email));
+    }
+
+    public void evictById(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        principals.invalidateIf((email, entry) -> userId.equals(entry.principal().getId()));
+        TransactionHooks.afterCommit(() -> principals.invalidateIf((email, entry) -> userId.equals(entry.principal().getId())));
+    }
+
+    public Map<String, Long> stats() {
+        return principals.stats();
+    }
+
+    // The store can lag a version read from the row, but never the other way round once a bump is known.
+    private boolean isCurrent(Entry entry) {
+        Long userId = entry.principal().getId();
+        return !tokenVersionStore.isRevoked(userId) && entry.tokenVersion() >= tokenVersionStore.current(userId);
+    }
+}
@@ -0,0 +1,286 @@
+package com.career.portal.services;
+
+import com.career.portal.dto.JobRecommendation;
+import com.career.portal.dto.JobVacancySummary;
+import com.career.portal.events.CandidateProfileChangedEvent;
+import com.career.portal.events.JobVacancyChangedEvent;
+import com.career.portal.models.Education;
+import com.career.portal.models.Experience;
+import com.career.portal.models.ExperienceLevel;
+import com.career.portal.models.JobVacancy;
+import com.career.portal.repositories.EducationRepository;
+import com.career.portal.repositories.ExperienceRepository;
+import com.career.portal.repositories.JobVacancyRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Matches candidates to active vacancies by cosine similarity of sparse term vectors.
+// Vacancy vectors live in an inverted index, so a recommendation only touches postings for the candidate's terms.
+// Experience level is not a term: a quarter of all vacancies would share it and every query would score them.
+// It boosts the vacancies that already matched on terms instead.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecommendationService {
+
+    private static final double TITLE_WEIGHT = 2.0;
+    private static final double BODY_WEIGHT = 1.0;
+    private static final double LEVEL_BOOST = 0.25;
+    private static final double LOCATION_WEIGHT = 1.0;
+
+    private final JobVacancyRepository jobVacancyRepository;
+    private final EducationRepository educationRepository;
+    private final ExperienceRepository experienceRepository;
+
+    @Value("${recommendations.max-results:20}")
+    private int maxResults;
+
+    @Value("${recommendations.cache.max-size:5000}")
+    private int cacheMaxSize;
+
+    @Value("${recommendations.cache.ttl-seconds:900}")
+    private long cacheTtlSeconds;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // feature -> (vacancy id -> normalized weight)
+    private final Map<String, Map<Long, Double>> postings = new HashMap<>();
+    private final Map<Long, IndexedVacancy> vacancies = new HashMap<>();
+    // Bumped on every vacancy change; results computed across a change are served but not cached.
+    private final AtomicLong generation = new AtomicLong();
+
+    private TtlCache<Long, CandidateProfile> candidateProfiles;
+    private TtlCache<Long, CachedRecommendations> recommendations;
+
+    private record IndexedVacancy(JobVacancySummary summary, Map<String, Double> vector) {
+    }
+
+    private record CandidateProfile(Map<String, Double> vector, ExperienceLevel level) {
+    }
+
+    private record CachedRecommendations(List<JobRecommendation> items, Set<Long> vacancyIds) {
+    }
+
+    @PostConstruct
+    void initCaches() {
+        candidateProfiles = new TtlCache<>(cacheMaxSize, cacheTtlSeconds * 1000);
+        recommendations = new TtlCache<>(cacheMaxSize, cacheTtlSeconds * 1000);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<JobVacancy> active = jobVacancyRepository.findByIsActiveTrue();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            vacancies.clear();
+            active.forEach(this::addVacancy);
+            generation.incrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        recommendations.clear();
+        log.info("Recommendation index built with {} active vacancies and {} features", active.size(), postings.size());
+    }
+
+    // Only results that list a changed vacancy are dropped. A new or edited vacancy that would now make
+    // someone's top results reaches them when their cached entry expires.
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVacancyChanged(JobVacancyChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.getVacancyIds().forEach(this::removeVacancy);
+            event.getActiveVacancies().forEach(this::addVacancy);
+            generation.incrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Set<Long> changed = event.getVacancyIds();
+        recommendations.invalidateIf((userId, cached) -> cached.vacancyIds().stream().anyMatch(changed::contains));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCandidateProfileChanged(CandidateProfileChangedEvent event) {
+        candidateProfiles.invalidate(event.getUserId());
+        recommendations.invalidate(event.getUserId());
+    }
+
+    public List<JobRecommendation> recommend(Long userId, Integer limit) {
+        int size = limit == null ? maxResults : Math.max(1, Math.min(limit, maxResults));
+        CachedRecommendations cached = recommendations.get(userId);
+        if (cached == null) {
+            long computedAt = generation.get();
+            List<JobRecommendation> items = score(candidateProfile(userId), maxResults);
+            Set<Long> vacancyIds = new HashSet<>();
+            items.forEach(item -> vacancyIds.add(item.getJob().getId()));
+            cached = new CachedRecommendations(items, vacancyIds);
+            if (generation.get() == computedAt) {
+                recommendations.put(userId, cached);
+            }
+        }
+        List<JobRecommendation> items = cached.items();
+        return items.size() <= size ? items : items.subList(0, size);
+    }
+
+    public Map<String, Long> getCacheStats() {
+        Map<String, Long> stats = recommendations.stats();
+        stats.put("candidateProfiles", (long) candidateProfiles.size());
+        stats.put("generation", generation.get());
+        return stats;
+    }
+
+    private List<JobRecommendation> score(CandidateProfile profile, int k) {
+        Map<String, Double> candidate = profile.vector();
+        if (candidate.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int vacancyCount = vacancies.size();
+            Map<Long, Double> scores = new HashMap<>();
+            candidate.forEach((feature, weight) -> {
+                Map<Long, Double> featurePostings = postings.get(feature);
+                if (featurePostings == null) {
+                    return;
+                }
+                // Rare features say more about a match than ones every vacancy shares.
+                double idf = Math.log(1.0 + (double) vacancyCount / featurePostings.size());
+                featurePostings.forEach((vacancyId, vacancyWeight) ->
+                        scores.merge(vacancyId, weight * vacancyWeight * idf, Double::sum));
+            });
+            scores.replaceAll((vacancyId, score) ->
+                    vacancies.get(vacancyId).summary().getExperienceLevel() == profile.level() ? score * (1 + LEVEL_BOOST) : score);
+
+            PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                top.offer(entry);
+                if (top.size() > k) {
+                    top.poll();
+                }
+            }
+            List<JobRecommendation> result = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                Map.Entry<Long, Double> entry = top.poll();
+                result.add(new JobRecommendation(vacancies.get(entry.getKey()).summary(), entry.getValue()));
+            }
+            result.sort(Comparator.comparingDouble(JobRecommendation::getScore).reversed());
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private CandidateProfile candidateProfile(Long userId) {
+        return candidateProfiles.get(userId, this::buildCandidateProfile);
+    }
+
+    private CandidateProfile buildCandidateProfile(Long userId) {
+        Map<String, Double> vector = new HashMap<>();
+        List<Experience> experiences = experienceRepository.findByUserId(userId);
+        List<Education> educations = educationRepository.findEducationsByUserId(userId);
+
+        long months = 0;
+        Experience latest = null;
+        for (Experience experience : experiences) {
+            addTerms(vector, experience.getTitle(), TITLE_WEIGHT);
+            addTerms(vector, experience.getDescription(), BODY_WEIGHT);
+            if (experience.getStartDate() != null) {
+                LocalDate end = experience.getEndDate() != null ? experience.getEndDate() : LocalDate.now();
+                months += Math.max(0, ChronoUnit.MONTHS.between(experience.getStartDate(), end));
+                if (latest == null || experience.getStartDate().isAfter(latest.getStartDate())) {
+                    latest = experience;
+                }
+            }
+        }
+        for (Education education : educations) {
+            addTerms(vector, education.getDegree(), BODY_WEIGHT);
+            addTerms(vector, education.getFieldOfStudy(), TITLE_WEIGHT);
+        }
+
+        if (latest != null) {
+            addLocation(vector, latest.getLocation());
+        }
+        return new CandidateProfile(normalize(vector), levelFor(months));
+    }
+
+    private void addVacancy(JobVacancy vacancy) {
+        Map<String, Double> vector = new HashMap<>();
+        addTerms(vector, vacancy.getTitle(), TITLE_WEIGHT);
+        addTerms(vector, vacancy.getRequirements(), BODY_WEIGHT);
+        addLocation(vector, vacancy.getLocation());
+        normalize(vector);
+
+        vector.forEach((feature, weight) -> postings.computeIfAbsent(feature, key -> new HashMap<>()).put(vacancy.getId(), weight));
+        vacancies.put(vacancy.getId(), new IndexedVacancy(JobVacancySummary.from(vacancy), vector));
+    }
+
+    private void removeVacancy(Long vacancyId) {
+        IndexedVacancy existing = vacancies.remove(vacancyId);
+        if (existing == null) {
+            return;
+        }
+        existing.vector().keySet().forEach(feature -> {
+            Map<Long, Double> featurePostings = postings.get(feature);
+            if (featurePostings != null) {
+                featurePostings.remove(vacancyId);
+                if (featurePostings.isEmpty()) {
+                    postings.remove(feature);
+                }
+            }
+        });
+    }
+
+    private static ExperienceLevel levelFor(long monthsOfExperience) {
+        if (monthsOfExperience < 24) {
+            return ExperienceLevel.ENTRY_LEVEL;
+        }
+        if (monthsOfExperience < 60) {
+            return ExperienceLevel.MID_LEVEL;
+        }
+        if (monthsOfExperience < 120) {
+            return ExperienceLevel.SENIOR_LEVEL;
+        }
+        return ExperienceLevel.EXECUTIVE;
+    }
+
+    private static void addLocation(Map<String, Double> vector, String location) {
+        String normalized = JobFacetIndex.normalizeLocation(location);
+        if (!normalized.isEmpty()) {
+            vector.merge("location:" + normalized, LOCATION_WEIGHT, Double::sum);
+        }
+    }
+
+    private static void addTerms(Map<String, Double> vector, String text, double weight) {
+        for (String term : TextTokenizer.tokenize(text)) {
+            vector.merge(term, weight, Double::sum);
+        }
+    }
+
+    private static Map<String, Double> normalize(Map<String, Double> vector) {
+        double norm = Math.sqrt(vector.values().stream().mapToDouble(w -> w * w).sum());
+        if (norm > 0) {
+            vector.replaceAll((feature, weight) -> weight / norm);
+        }
+        return vector;
+    }
+}
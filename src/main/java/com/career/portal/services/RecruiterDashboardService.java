@@ -0,0 +1,119 @@
+package com.career.portal.services;
+
+import com.career.portal.dto.RecruiterDashboard;
+import com.career.portal.dto.VacancyApplicationStats;
+import com.career.portal.models.ApplicationStatus;
+import com.career.portal.repositories.JobVacancyRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class RecruiterDashboardService {
+
+    private final JobVacancyRepository jobVacancyRepository;
+
+    @Value("${dashboard.cache.max-size:1000}")
+    private int cacheMaxSize;
+
+    @Value("${dashboard.cache.ttl-seconds:30}")
+    private long cacheTtlSeconds;
+
+    private TtlCache<Long, RecruiterDashboard> dashboards;
+
+    @PostConstruct
+    void initCache() {
+        dashboards = new TtlCache<>(cacheMaxSize, cacheTtlSeconds * 1000);
+    }
+
+    public RecruiterDashboard getDashboard(Long recruiterId) {
+        return dashboards.get(recruiterId, this::buildDashboard);
+    }
+
+    public Map<String, Long> getCacheStats() {
+        return dashboards.stats();
+    }
+
+    private RecruiterDashboard buildDashboard(Long recruiterId) {
+        Map<Long, Accumulator> byVacancy = new LinkedHashMap<>();
+        List<Object[]> rows = new ArrayList<>(jobVacancyRepository.findApplicationStatsByRecruiter(recruiterId));
+        rows.addAll(jobVacancyRepository.findArchivedApplicationStatsByRecruiter(recruiterId));
+        for (Object[] row : rows) {
+            Accumulator vacancy = byVacancy.computeIfAbsent((Long) row[0],
+                    id -> new Accumulator(id, (String) row[1], (Boolean) row[2]));
+            ApplicationStatus status = (ApplicationStatus) row[3];
+            if (status == null) {
+                continue;
+            }
+            vacancy.add(status, (Long) row[4], (LocalDateTime) row[5],
+                    row[6] == null ? 0 : ((Number) row[6]).longValue(), (Long) row[7]);
+        }
+
+        Map<ApplicationStatus, Long> totals = emptyStatusCounts();
+        List<VacancyApplicationStats> vacancies = new ArrayList<>(byVacancy.size());
+        long totalApplications = 0;
+        for (Accumulator vacancy : byVacancy.values()) {
+            VacancyApplicationStats stats = vacancy.toStats();
+            stats.getApplicationsByStatus().forEach((status, count) -> totals.merge(status, count, Long::sum));
+            totalApplications += stats.getTotalApplications();
+            vacancies.add(stats);
+        }
+        vacancies.sort(Comparator.comparing(VacancyApplicationStats::getLatestApplicationAt,
+                Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder())));
+
+        return new RecruiterDashboard(recruiterId, totalApplications, totals, vacancies, LocalDateTime.now());
+    }
+
+    private static Map<ApplicationStatus, Long> emptyStatusCounts() {
+        Map<ApplicationStatus, Long> counts = new EnumMap<>(ApplicationStatus.class);
+        for (ApplicationStatus status : ApplicationStatus.values()) {
+            counts.put(status, 0L);
+        }
+        return counts;
+    }
+
+    private static final class Accumulator {
+        private final Long vacancyId;
+        private final String title;
+        private final Boolean isActive;
+        private final Map<ApplicationStatus, Long> byStatus = emptyStatusCounts();
+        private long total;
+        private LocalDateTime latest;
+        private long scoreSum;
+        private long scoreCount;
+
+        Accumulator(Long vacancyId, String title, Boolean isActive) {
+            this.vacancyId = vacancyId;
+            this.title = title;
+            this.isActive = isActive;
+        }
+
+        void add(ApplicationStatus status, long count, LocalDateTime latestAppliedAt, long scores, long scored) {
+            byStatus.merge(status, count, Long::sum);
+            total += count;
+            if (latestAppliedAt != null && (latest == null || latestAppliedAt.isAfter(latest))) {
+                latest = latestAppliedAt;
+            }
+            // Averages are recombined from sums so every scored application weighs the same.
+            scoreSum += scores;
+            scoreCount += scored;
+        }
+
+        VacancyApplicationStats toStats() {
+            Double average = scoreCount == 0 ? null : (double) scoreSum / scoreCount;
+            return new VacancyApplicationStats(vacancyId, title, isActive, total, byStatus, latest, average);
+        }
+    }
+}
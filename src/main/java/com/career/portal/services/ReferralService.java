@@ -1,6 +1,7 @@
 package com.career.portal.services;
 
 import com.career.portal.dto.ReferralRequest;
+import com.career.portal.events.ReferralCreatedEvent;
 import com.career.portal.models.JobVacancy;
 import com.career.portal.models.Referral;
 import com.career.portal.models.ReferralStatus;
@@ -14,6 +15,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,7 +28,8 @@ public class ReferralService {
     private final ReferralRepository referralRepository;
     private final JobVacancyRepository jobVacancyRepository;
     private final UserRepository userRepository;
-    private final EmailService emailService;
+    private final DomainEventPublisher domainEventPublisher;
+    private final ApplicationArchiveService applicationArchiveService;
 
     public Referral createReferral(ReferralRequest referralRequest, Long referrerId){
         User referrer = userRepository.findById(referrerId)
@@ -52,12 +55,15 @@ public class ReferralService {
         newReferral.setJobVacancy(jobVacancy);
         newReferral.setMessage(referralRequest.getMessage());
 
-        emailService.sendReferralNotificationEmail(referredUser, referrer, jobVacancy);
-        return referralRepository.save(newReferral);
+        Referral saved = referralRepository.save(newReferral);
+        domainEventPublisher.publish(new ReferralCreatedEvent(saved.getId(), referrer.getId(), referredUser.getId(), jobVacancy.getId()));
+        return saved;
     }
 
     public List<Referral> findReferralsByReferrer(Long referrerId){
-        return referralRepository.findByReferrerId(referrerId);
+        List<Referral> referrals = new ArrayList<>(referralRepository.findByReferrerId(referrerId));
+        referrals.addAll(applicationArchiveService.findReferralsByReferrer(referrerId));
+        return referrals;
     }
 
     public List<Referral> findPendingReferralsForUser(Long userId) {
@@ -95,7 +101,7 @@ public class ReferralService {
     }
 
     public Optional<Referral> findById(Long id){
-        return referralRepository.findById(id);
+        return referralRepository.findById(id).or(() -> applicationArchiveService.findReferral(id));
     }
 
     public List<Referral> findByReferrerAndJobVacancy(Long referrerId, Long jobVacancyId){
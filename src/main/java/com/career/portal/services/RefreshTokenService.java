@@ -0,0 +1,95 @@
+package com.career.portal.services;
+
+import com.career.portal.models.RefreshToken;
+import com.career.portal.models.User;
+import com.career.portal.repositories.RefreshTokenRepository;
+import com.career.portal.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private long refreshExpirationMillis;
+
+    public record Rotation(User user, String refreshToken) {
+    }
+
+    public String issue(User user) {
+        return issue(user.getId(), UUID.randomUUID().toString());
+    }
+
+    @Transactional(noRollbackFor = IllegalStateException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(TokenHasher.sha256Hex(rawToken))
+                .orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
+
+        if (current.getRevokedAt() != null) {
+            throw reuseDetected(current);
+        }
+        if (current.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new IllegalStateException("Refresh token has expired");
+        }
+
+        User user = userRepository.findById(current.getUserId())
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        if (!user.isEnabled() || !user.isAccountNonLocked()) {
+            throw new IllegalStateException("Account is disabled or locked");
+        }
+
+        // The check above was made without a lock; a concurrent rotation that got here first wins the update.
+        if (refreshTokenRepository.revokeIfActive(current.getId(), LocalDateTime.now()) == 0) {
+            throw reuseDetected(current);
+        }
+        return new Rotation(user, issue(user.getId(), current.getFamilyId()));
+    }
+
+    // A rotated-out token came back: assume it was stolen and kill the whole chain.
+    private IllegalStateException reuseDetected(RefreshToken token) {
+        refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now());
+        log.warn("Refresh token reuse detected for user {}, family revoked", token.getUserId());
+        return new IllegalStateException("Refresh token has already been used");
+    }
+
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(TokenHasher.sha256Hex(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    public void revokeAllForUser(Long userId) {
+        refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+    }
+
+    @Scheduled(cron = "${jwt.refresh-cleanup-cron:0 30 3 * * *}")
+    public void deleteExpiredTokens() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        log.info("Deleted {} expired refresh tokens", deleted);
+    }
+
+    private String issue(Long userId, String familyId) {
+        String rawToken = TokenHasher.newRandomToken();
+
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(TokenHasher.sha256Hex(rawToken));
+        token.setUserId(userId);
+        token.setFamilyId(familyId);
+        token.setExpiresAt(LocalDateTime.now().plus(Duration.ofMillis(refreshExpirationMillis)));
+        refreshTokenRepository.save(token);
+        return rawToken;
+    }
+}
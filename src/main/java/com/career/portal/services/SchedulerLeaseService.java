@@ -0,0 +1,52 @@
+package com.career.portal.services;
+
+import com.career.portal.repositories.SchedulerLeaseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Lets one node at a time run a scheduled job by holding a row in scheduler_leases.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SchedulerLeaseService {
+
+    private static final LocalDateTime NEVER_HELD = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final SchedulerLeaseRepository schedulerLeaseRepository;
+
+    private final String nodeId = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    private final Set<String> knownLeases = ConcurrentHashMap.newKeySet();
+
+    public boolean tryAcquire(String name, Duration ttl) {
+        if (knownLeases.add(name)) {
+            schedulerLeaseRepository.createIfAbsent(name, NEVER_HELD);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        boolean acquired = schedulerLeaseRepository.tryAcquire(name, nodeId, now, now.plus(ttl)) == 1;
+        if (!acquired) {
+            log.debug("Lease {} is held by another node", name);
+        }
+        return acquired;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.career.portal.services;
+
+import com.career.portal.dto.FunnelStats;
+import com.career.portal.models.ApplicationStatus;
+import com.career.portal.models.ApplicationStatusTransition;
+import com.career.portal.repositories.ApplicationStatusTransitionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Writes the status history and keeps funnel rollups per vacancy and per recruiter in memory. Every node
+// folds new history rows into its rollups on a timer, reading them in commit order through a CommitCursor,
+// so reads never scan history and transitions written through any node show up everywhere within one sync
+// interval, including those from transactions that commit after rows with higher ids.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StatusHistoryService {
+
+    // Time in stage is kept in log-scale buckets, four per doubling, which bounds percentile error to about 19%.
+    private static final int BUCKETS_PER_DOUBLING = 4;
+    private static final int BUCKETS = 160;
+    private static final ApplicationStatus[] STATUSES = ApplicationStatus.values();
+    private static final int MAX_GAPS = 1000;
+
+    private final ApplicationStatusTransitionRepository transitionRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${applications.history.batch-size:1000}")
+    private int batchSize;
+
+    // How long a history id passed over is waited for before its transaction is taken to have rolled back.
+    @Value("${applications.history.gap-timeout-ms:300000}")
+    private long gapTimeoutMs;
+
+    private final Map<Long, Rollup> byVacancy = new ConcurrentHashMap<>();
+    private final Map<Long, Rollup> byRecruiter = new ConcurrentHashMap<>();
+    private CommitCursor cursor;
+
+    // enteredFromAt is when the application entered `from`; null for a submission.
+    public record Transition(Long applicationId, Long jobVacancyId, Long recruiterId,
+                             ApplicationStatus from, ApplicationStatus to,
+                             LocalDateTime enteredFromAt, LocalDateTime changedAt, Long changedBy) {
+    }
+
+    // Counts everything but the newest MAX_GAPS ids in one grouped query, taking rows that far back to be
+    // committed, and leaves the rest to sync(), which reads them row by row so any in flight become gaps.
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        byVacancy.clear();
+        byRecruiter.clear();
+        long upToId = Math.max(0, transitionRepository.findMaxId() - MAX_GAPS);
+        for (Object[] row : transitionRepository.countByVacancyAndTransition(0, upToId)) {
+            apply((Long) row[0], (Long) row[1], (ApplicationStatus) row[2], (ApplicationStatus) row[3],
+                    (Integer) row[4], (Long) row[5]);
+        }
+        cursor = new CommitCursor(upToId, gapTimeoutMs, MAX_GAPS);
+        sync();
+    }
+
+    @Scheduled(fixedDelayString = "${applications.history.sync-interval-ms:15000}",
+            initialDelayString = "${applications.history.sync-interval-ms:15000}")
+    public synchronized void sync() {
+        if (cursor == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        cursor.expire(now);
+        List<Long> gaps = cursor.gaps();
+        if (!gaps.isEmpty()) {
+            transitionRepository.findAllById(gaps).forEach(row -> fold(row, now));
+        }
+        List<ApplicationStatusTransition> rows;
+        do {
+            rows = transitionRepository.findAfter(cursor.position(), PageRequest.of(0, batchSize));
+            rows.forEach(row -> fold(row, now));
+        } while (rows.size() == batchSize);
+        log.debug("Status history synced up to id {} with {} gaps", cursor.position(), cursor.gaps().size());
+    }
+
+    // Appends to the history in the caller's transaction; the rollups pick it up on a later sync.
+    public void record(List<Transition> transitions) {
+        if (transitions.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(transitions.size());
+        for (Transition transition : transitions) {
+            Long seconds = transition.enteredFromAt() == null ? null
+                    : Math.max(0, Duration.between(transition.enteredFromAt(), transition.changedAt()).toSeconds());
+            rows.add(new Object[]{
+                    transition.applicationId(),
+                    transition.jobVacancyId(),
+                    transition.recruiterId(),
+                    transition.from() == null ? null : transition.from().name(),
+                    transition.to().name(),
+                    Timestamp.valueOf(transition.changedAt()),
+                    transition.changedBy(),
+                    seconds,
+                    seconds == null ? null : bucket(seconds)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO application_status_history (application_id, job_vacancy_id, recruiter_id, " +
+                "from_status, to_status, changed_at, changed_by, stage_seconds, stage_bucket) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    public FunnelStats funnelForVacancy(Long jobVacancyId) {
+        return byVacancy.getOrDefault(jobVacancyId, new Rollup()).snapshot();
+    }
+
+    public FunnelStats funnelForRecruiter(Long recruiterId) {
+        return byRecruiter.getOrDefault(recruiterId, new Rollup()).snapshot();
+    }
+
+    private void fold(ApplicationStatusTransition row, long now) {
+        if (cursor.seen(row.getId(), now)) {
+            apply(row.getJobVacancyId(), row.getRecruiterId(), row.getFromStatus(), row.getToStatus(), row.getStageBucket(), 1);
+        }
+    }
+
+    private void apply(Long vacancyId, Long recruiterId, ApplicationStatus from, ApplicationStatus to, Integer bucket, long count) {
+        if (to == null) {
+            return;
+        }
+        byVacancy.computeIfAbsent(vacancyId, id -> new Rollup()).add(from, to, bucket, count);
+        if (recruiterId != null) {
+            byRecruiter.computeIfAbsent(recruiterId, id -> new Rollup()).add(from, to, bucket, count);
+        }
+    }
+
+    // Bucket b >= 1 holds [2^((b-1)/4), 2^(b/4)) seconds; bucket 0 holds zero.
+    static int bucket(long seconds) {
+        if (seconds <= 0) {
+            return 0;
+        }
+        int bucket = 1 + (int) Math.floor(BUCKETS_PER_DOUBLING * Math.log(seconds) / Math.log(2));
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    static long upperBoundSeconds(int bucket) {
+        return bucket == 0 ? 0 : Math.round(Math.pow(2, (double) bucket / BUCKETS_PER_DOUBLING));
+    }
+
+    // Upper bound of the bucket holding the given quantile of `total` timed exits.
+    static long percentile(long[] buckets, long total, double quantile) {
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int bucket = 0; bucket < buckets.length; bucket++) {
+            seen += buckets[bucket];
+            if (seen >= rank) {
+                return upperBoundSeconds(bucket);
+            }
+        }
+        return upperBoundSeconds(buckets.length - 1);
+    }
+
+    private static final class Rollup {
+        private final long[] entered = new long[STATUSES.length];
+        private final long[][] moves = new long[STATUSES.length][STATUSES.length];
+        private final long[][] stageTimes = new long[STATUSES.length][BUCKETS];
+
+        synchronized void add(ApplicationStatus from, ApplicationStatus to, Integer bucket, long count) {
+            entered[to.ordinal()] += count;
+            if (from == null) {
+                return;
+            }
+            moves[from.ordinal()][to.ordinal()] += count;
+            if (bucket != null) {
+                stageTimes[from.ordinal()][Math.min(Math.max(bucket, 0), BUCKETS - 1)] += count;
+            }
+        }
+
+        synchronized FunnelStats snapshot() {
+            Map<ApplicationStatus, Long> enteredByStatus = new EnumMap<>(ApplicationStatus.class);
+            Map<String, Double> conversionRates = new LinkedHashMap<>();
+            Map<ApplicationStatus, FunnelStats.StageTime> timeInStage = new EnumMap<>(ApplicationStatus.class);
+            for (ApplicationStatus from : STATUSES) {
+                enteredByStatus.put(from, entered[from.ordinal()]);
+
+                long exits = 0;
+                for (long moved : moves[from.ordinal()]) {
+                    exits += moved;
+                }
+                if (exits > 0) {
+                    for (ApplicationStatus to : STATUSES) {
+                        long moved = moves[from.ordinal()][to.ordinal()];
+                        if (moved > 0) {
+                            conversionRates.put(from.name() + "->" + to.name(), (double) moved / exits);
+                        }
+                    }
+                }
+
+                long[] buckets = stageTimes[from.ordinal()];
+                long timed = 0;
+                for (long inBucket : buckets) {
+                    timed += inBucket;
+                }
+                if (timed > 0) {
+                    timeInStage.put(from, new FunnelStats.StageTime(timed,
+                            percentile(buckets, timed, 0.5), percentile(buckets, timed, 0.9)));
+                }
+            }
+            return new FunnelStats(enteredByStatus, conversionRates, timeInStage);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.career.portal.services;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public final class TextTokenizer {
+
+    private TextTokenizer() {
+    }
+
+    // Case-folds, strips diacritics and splits on anything that is not a letter or digit.
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD).toLowerCase(Locale.ROOT);
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                current.append(c);
+            } else if (!current.isEmpty()) {
+                addToken(tokens, current);
+            }
+        }
+        if (!current.isEmpty()) {
+            addToken(tokens, current);
+        }
+        return tokens;
+    }
+
+    private static void addToken(List<String> tokens, StringBuilder current) {
+        tokens.add(current.toString());
+        current.setLength(0);
+    }
+}
@@ -0,0 +1,96 @@
+package com.career.portal.services;
+
+import com.career.portal.models.RevokedUser;
+import com.career.portal.models.TokenVersionChange;
+import com.career.portal.repositories.RevokedUserRepository;
+import com.career.portal.repositories.TokenVersionChangeRepository;
+import com.career.portal.repositories.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Token versions checked from memory on every request. Bumps and deletions are also written to tables that
+// every node polls, so a change made through one node reaches the others within a reload interval.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenVersionStore {
+
+    private final UserRepository userRepository;
+    private final RevokedUserRepository revokedUserRepository;
+    private final TokenVersionChangeRepository tokenVersionChangeRepository;
+
+    @Value("${jwt.expiration}")
+    private long expirationMillis;
+
+    // Only users whose version moved off the default 0 are kept, so the map stays small.
+    private final ConcurrentHashMap<Long, Integer> versions = new ConcurrentHashMap<>();
+    // Deleted users, until the last access token issued to them has expired.
+    private final ConcurrentHashMap<Long, LocalDateTime> revokedUntil = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void load() {
+        for (Object[] row : userRepository.findNonZeroTokenVersions()) {
+            versions.put((Long) row[0], (Integer) row[1]);
+        }
+        reload();
+        log.info("Loaded token versions for {} users", versions.size());
+    }
+
+    public int current(Long userId) {
+        return versions.getOrDefault(userId, 0);
+    }
+
+    public boolean isCurrent(Long userId, int version) {
+        return !isRevoked(userId) && current(userId) == version;
+    }
+
+    public boolean isRevoked(Long userId) {
+        return revokedUntil.containsKey(userId);
+    }
+
+    // Applied here once the new version is committed; a rollback would otherwise reject every valid token.
+    public void update(Long userId, int version) {
+        tokenVersionChangeRepository.save(new TokenVersionChange(userId, version, lastTokenExpiry()));
+        TransactionHooks.afterCommit(() -> versions.merge(userId, version, Math::max));
+    }
+
+    // Deleted users have no row left to carry their version, so the revocation is stored on its own.
+    public void revoke(Long userId) {
+        LocalDateTime expiresAt = lastTokenExpiry();
+        revokedUserRepository.save(new RevokedUser(userId, expiresAt));
+        TransactionHooks.afterCommit(() -> markRevoked(userId, expiresAt));
+    }
+
+    // Picks up bumps and deletions made through other nodes, and forgets revocations that have run out.
+    @Scheduled(fixedDelayString = "${jwt.revocation.reload-interval-ms:60000}",
+            initialDelayString = "${jwt.revocation.reload-interval-ms:60000}")
+    public void reload() {
+        LocalDateTime now = LocalDateTime.now();
+        tokenVersionChangeRepository.deleteExpired(now);
+        revokedUserRepository.deleteExpired(now);
+        for (TokenVersionChange change : tokenVersionChangeRepository.findByExpiresAtAfter(now)) {
+            versions.merge(change.getUserId(), change.getTokenVersion(), Math::max);
+        }
+        for (RevokedUser revoked : revokedUserRepository.findByExpiresAtAfter(now)) {
+            markRevoked(revoked.getUserId(), revoked.getExpiresAt());
+        }
+        revokedUntil.values().removeIf(until -> until.isBefore(now));
+    }
+
+    private void markRevoked(Long userId, LocalDateTime until) {
+        revokedUntil.put(userId, until);
+        versions.remove(userId);
+    }
+
+    private LocalDateTime lastTokenExpiry() {
+        return LocalDateTime.now().plus(Duration.ofMillis(expirationMillis));
+    }
+}
@@ -3,25 +3,31 @@ package com.career.portal.services;
 import com.career.portal.dto.EducationRequest;
 import com.career.portal.dto.ExperienceRequest;
 import com.career.portal.dto.UserProfileUpdateRequest;
+import com.career.portal.events.CandidateProfileChangedEvent;
+import com.career.portal.events.UserRegisteredEvent;
 import com.career.portal.models.Education;
 import com.career.portal.models.Experience;
+import com.career.portal.models.OneTimeToken;
+import com.career.portal.models.OneTimeTokenPurpose;
 import com.career.portal.models.User;
 import com.career.portal.models.UserRole;
 import com.career.portal.repositories.EducationRepository;
 import com.career.portal.repositories.ExperienceRepository;
+import com.career.portal.repositories.JobApplicationRepository;
 import com.career.portal.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 @Slf4j
 @Service
@@ -34,6 +40,19 @@ public class UserService {
     private final EmailService emailService;
     private final EducationRepository educationRepository;
     private final ExperienceRepository experienceRepository;
+    private final PrincipalCache principalCache;
+    private final TokenVersionStore tokenVersionStore;
+    private final RefreshTokenService refreshTokenService;
+    private final OneTimeTokenService oneTimeTokenService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DomainEventPublisher domainEventPublisher;
+    private final JobApplicationRepository jobApplicationRepository;
+    private final CandidateRankingService candidateRankingService;
+    private final ApplicationArchiveService applicationArchiveService;
+    private final ApplicationCounterService applicationCounterService;
+
+    private static final Duration VERIFICATION_TOKEN_TTL = Duration.ofHours(24);
+    private static final Duration RESET_TOKEN_TTL = Duration.ofHours(1);
 
 
     public User registerUser(User user) {
@@ -45,10 +64,9 @@ public class UserService {
         if(user.getRole() == null){
             user.setRole(UserRole.USER);
         }
-        user.setVerificationToken(UUID.randomUUID().toString());
-        user.setVerificationTokenExpiry(LocalDateTime.now().plusHours(24));
         User registeredUser = userRepository.save(user);
-        emailService.sendVerificationEmail(registeredUser.getEmail(), registeredUser.getVerificationToken());
+        // The verification token is issued by the listener, so no raw token is written to the outbox.
+        domainEventPublisher.publish(new UserRegisteredEvent(registeredUser.getId(), registeredUser.getEmail()));
         return registeredUser;
     }
 
@@ -76,6 +94,7 @@ public class UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
         user.setProfileScore(score);
+        candidateRankingService.invalidateAfterCommit(jobApplicationRepository.findVacancyIdsByUserId(userId));
         return userRepository.save(user);
     }
 
@@ -83,6 +102,7 @@ public class UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
         user.setRole(newRole);
+        invalidateSessions(user);
         return userRepository.save(user);
     }
 
@@ -99,6 +119,7 @@ public class UserService {
         existingUser.setPhone(userProfileUpdateRequest.getPhone());
         existingUser.setLinkedinProfile(userProfileUpdateRequest.getLinkedinProfile());
         existingUser.setGithubProfile(userProfileUpdateRequest.getGithubProfile());
+        eventPublisher.publishEvent(new CandidateProfileChangedEvent(userId));
 
         return userRepository.save(existingUser);
     }
@@ -113,6 +134,7 @@ public class UserService {
         education.setFieldOfStudy(request.getFieldOfStudy());
         education.setStartDate(request.getStartDate());
         education.setEndDate(request.getEndDate());
+        eventPublisher.publishEvent(new CandidateProfileChangedEvent(userId));
         return educationRepository.save(education);
     }
 
@@ -124,14 +146,15 @@ public class UserService {
         education.setFieldOfStudy(request.getFieldOfStudy());
         education.setStartDate(request.getStartDate());
         education.setEndDate(request.getEndDate());
+        eventPublisher.publishEvent(new CandidateProfileChangedEvent(education.getUser().getId()));
         return educationRepository.save(education);
     }
 
     public void deleteEducation(Long educationId) {
-        if (!educationRepository.existsById(educationId)) {
-            throw new IllegalArgumentException("Education record not found");
-        }
-        educationRepository.deleteById(educationId);
+        Education education = educationRepository.findById(educationId)
+                .orElseThrow(() -> new IllegalArgumentException("Education record not found"));
+        educationRepository.delete(education);
+        eventPublisher.publishEvent(new CandidateProfileChangedEvent(education.getUser().getId()));
     }
 
     public Experience addExperience(Long userId, ExperienceRequest request) {
@@ -145,6 +168,7 @@ public class UserService {
         experience.setStartDate(request.getStartDate());
         experience.setEndDate(request.getEndDate());
         experience.setDescription(request.getDescription());
+        eventPublisher.publishEvent(new CandidateProfileChangedEvent(userId));
         return experienceRepository.save(experience);
     }
 
@@ -157,14 +181,15 @@ public class UserService {
         experience.setStartDate(request.getStartDate());
         experience.setEndDate(request.getEndDate());
         experience.setDescription(request.getDescription());
+        eventPublisher.publishEvent(new CandidateProfileChangedEvent(experience.getUser().getId()));
         return experienceRepository.save(experience);
     }
 
     public void deleteExperience(Long experienceId) {
-        if (!experienceRepository.existsById(experienceId)) {
-            throw new IllegalArgumentException("Experience record not found");
-        }
-        experienceRepository.deleteById(experienceId);
+        Experience experience = experienceRepository.findById(experienceId)
+                .orElseThrow(() -> new IllegalArgumentException("Experience record not found"));
+        experienceRepository.delete(experience);
+        eventPublisher.publishEvent(new CandidateProfileChangedEvent(experience.getUser().getId()));
     }
 
     public boolean canModifyEducation(Long educationId, Long userId) {
@@ -178,7 +203,12 @@ public class UserService {
     }
 
     public void deleteUser(Long userId){
+        applicationCounterService.recordUserDeleted(userId);
+        applicationArchiveService.deleteForUser(userId);
         userRepository.deleteById(userId);
+        principalCache.evictById(userId);
+        tokenVersionStore.revoke(userId);
+        refreshTokenService.revokeAllForUser(userId);
     }
 
     public List<User> findUsersWithMinimumScore(Double minScore){
@@ -194,16 +224,18 @@ public class UserService {
     }
 
     public boolean verifyEmail(String token){
-        User user = userRepository.findByVerificationToken(token)
+        OneTimeToken verificationToken = oneTimeTokenService.find(token, OneTimeTokenPurpose.EMAIL_VERIFICATION)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid verification token"));
 
-        if(user.getVerificationTokenExpiry().isBefore(LocalDateTime.now())){
+        if(verificationToken.isExpired()){
             throw new IllegalStateException("Verification token has expired");
         }
+        User user = userRepository.findById(verificationToken.getUserId())
+                .orElseThrow(() -> new IllegalArgumentException("Invalid verification token"));
         user.setEmailVerified(true);
-        user.setVerificationToken(null);
-        user.setVerificationTokenExpiry(null);
+        oneTimeTokenService.consume(verificationToken);
         userRepository.save(user);
+        principalCache.evict(user.getEmail());
         return true;
     }
 
@@ -215,35 +247,40 @@ public class UserService {
             throw new IllegalStateException("This account has already been verified.");
         }
 
-        user.setVerificationToken(UUID.randomUUID().toString());
-        user.setVerificationTokenExpiry(LocalDateTime.now().plusHours(24));
-        userRepository.save(user);
+        String verificationToken = oneTimeTokenService.issue(user.getId(), OneTimeTokenPurpose.EMAIL_VERIFICATION, VERIFICATION_TOKEN_TTL);
 
-        emailService.sendVerificationEmail(user.getEmail(), user.getVerificationToken());
+        emailService.sendVerificationEmail(user.getEmail(), verificationToken);
     }
 
     public void requestPasswordReset(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException("User with this email does not exist"));
 
-        user.setResetToken(UUID.randomUUID().toString());
-        user.setResetTokenExpiry(LocalDateTime.now().plusHours(1));
-        userRepository.save(user);
-        emailService.sendPasswordResetEmail(user.getEmail(), user.getResetToken());
+        String resetToken = oneTimeTokenService.issue(user.getId(), OneTimeTokenPurpose.PASSWORD_RESET, RESET_TOKEN_TTL);
+        emailService.sendPasswordResetEmail(user.getEmail(), resetToken);
     }
 
     public void resetPassword(String token, String password){
-        User user = userRepository.findByResetToken(token)
+        OneTimeToken resetToken = oneTimeTokenService.find(token, OneTimeTokenPurpose.PASSWORD_RESET)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid reset token"));
 
-        if(user.getResetTokenExpiry().isBefore(LocalDateTime.now())){
+        if(resetToken.isExpired()){
             throw new IllegalStateException("Reset token has expired");
         }
+        User user = userRepository.findById(resetToken.getUserId())
+                .orElseThrow(() -> new IllegalArgumentException("Invalid reset token"));
 
         user.setPassword(passwordEncoder.encode(password));
-        user.setResetToken(null);
-        user.setResetTokenExpiry(null);
+        oneTimeTokenService.consume(resetToken);
+        invalidateSessions(user);
         userRepository.save(user);
     }
 
+    private void invalidateSessions(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        tokenVersionStore.update(user.getId(), user.getTokenVersion());
+        refreshTokenService.revokeAllForUser(user.getId());
+        principalCache.evict(user.getEmail());
+    }
+
 }
@@ -0,0 +1,72 @@
+package com.career.portal.services;
+
+import com.career.portal.events.JobVacancyChangedEvent;
+import com.career.portal.repositories.JobVacancyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VacancyDeadlineSweeper {
+
+    static final String LEASE_NAME = "vacancy-deadline-sweeper";
+
+    private final JobVacancyRepository jobVacancyRepository;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JobChangeSequenceService changeSequence;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${jobs.deadline-sweep.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${jobs.deadline-sweep.lease-seconds:300}")
+    private long leaseSeconds;
+
+    // Each chunk is one bulk UPDATE committed on its own, so no long-held row locks.
+    // A whole chunk shares one change sequence number.
+    @Scheduled(fixedDelayString = "${jobs.deadline-sweep.interval-ms:60000}")
+    public void closeExpiredVacancies() {
+        if (!schedulerLeaseService.tryAcquire(LEASE_NAME, Duration.ofSeconds(leaseSeconds))) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        List<Long> ids;
+        do {
+            ids = jobVacancyRepository.findExpiredActiveIds(now, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            List<Long> chunk = ids;
+            int closed = transactionTemplate.execute(status ->
+                    jobVacancyRepository.closeExpired(chunk, now, changeSequence.next()));
+
+            Set<Long> closedIds = new HashSet<>(ids);
+            if (closed < ids.size()) {
+                closedIds.removeAll(jobVacancyRepository.findActiveIdsIn(ids));
+            }
+            // One event per chunk; other nodes pick the same rows up from the change log (JobVacancyChangeWatcher).
+            eventPublisher.publishEvent(JobVacancyChangedEvent.deactivated(closedIds));
+            total += closed;
+        } while (ids.size() == chunkSize);
+
+        if (total > 0) {
+            log.info("Closed {} vacancies past their application deadline", total);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.career.portal.services;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Date;
+
+@Getter
+@RequiredArgsConstructor
+public class VerifiedToken {
+
+    private final String subject;
+    private final Date expiration;
+    private final Claims claims;
+
+    public String getId() {
+        return claims.getId();
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
@@ -0,0 +1,125 @@
+package com.career.portal.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApplicationEventHubTest {
+
+    private ApplicationEventHub hub;
+    private final List<BlockingEmitter> blocked = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        hub = new ApplicationEventHub(null, null, null);
+        ReflectionTestUtils.setField(hub, "bufferSize", 16);
+        ReflectionTestUtils.setField(hub, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(hub, "maxSubscribers", 100);
+        ReflectionTestUtils.setField(hub, "sendTimeoutMs", 50L);
+        hub.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        blocked.forEach(emitter -> emitter.release.countDown());
+        hub.shutdown();
+    }
+
+    @Test
+    void heartbeatDropsAStalledSubscriberWithoutWaitingForIt() throws InterruptedException {
+        BlockingEmitter emitter = blocking();
+        hub.subscribe(1L, emitter);
+
+        hub.sendHeartbeats();
+        assertTrue(emitter.sending.await(1, TimeUnit.SECONDS));
+        Thread.sleep(100);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(1), hub::sendHeartbeats);
+        assertEquals(1L, hub.stats().get("stalled"));
+        assertEquals(0L, hub.stats().get("subscribers"));
+        assertFalse(emitter.completed);
+    }
+
+    @Test
+    void blockedSendsDoNotHoldUpOtherSubscribers() throws InterruptedException {
+        for (long recruiterId = 1; recruiterId <= 8; recruiterId++) {
+            hub.subscribe(recruiterId, blocking());
+        }
+        CountingEmitter healthy = new CountingEmitter();
+        hub.subscribe(100L, healthy);
+
+        hub.sendHeartbeats();
+
+        assertTrue(healthy.sent.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void failedSendUnsubscribes() throws InterruptedException {
+        BlockingEmitter emitter = blocking();
+        hub.subscribe(1L, emitter);
+
+        hub.sendHeartbeats();
+        assertTrue(emitter.sending.await(1, TimeUnit.SECONDS));
+        // As when the container's write timeout ends the send.
+        emitter.release.countDown();
+
+        long deadline = System.currentTimeMillis() + 1000;
+        while (hub.stats().get("subscribers") > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0L, hub.stats().get("subscribers"));
+        assertEquals(0L, hub.stats().get("stalled"));
+    }
+
+    private BlockingEmitter blocking() {
+        BlockingEmitter emitter = new BlockingEmitter();
+        blocked.add(emitter);
+        return emitter;
+    }
+
+    // Stands in for a client that stopped reading: the send holds until released, then fails.
+    private static final class BlockingEmitter extends SseEmitter {
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("Write timed out");
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+
+    private static final class CountingEmitter extends SseEmitter {
+        final CountDownLatch sent = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sent.countDown();
+        }
+    }
+}
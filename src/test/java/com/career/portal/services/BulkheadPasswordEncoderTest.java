@@ -0,0 +1,78 @@
+package com.career.portal.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkheadPasswordEncoderTest {
+
+    private final SlowEncoder delegate = new SlowEncoder();
+    private final BulkheadPasswordEncoder encoder = new BulkheadPasswordEncoder(delegate, 1, 1, 100);
+
+    @AfterEach
+    void tearDown() {
+        delegate.release.countDown();
+        encoder.close();
+    }
+
+    @Test
+    void queuedTaskOfACallerThatTimedOutIsNeverHashed() throws Exception {
+        CompletableFuture.runAsync(() -> encoder.encode("first"));
+        assertTrue(delegate.started.await(1, TimeUnit.SECONDS));
+
+        assertThrows(PasswordHashingRejectedException.class, () -> encoder.encode("second"));
+        assertEquals(0L, encoder.stats().get("queued"));
+
+        delegate.release.countDown();
+        assertEquals("hashed", encoder.encode("third"));
+        assertEquals(2, delegate.calls.get());
+        assertEquals(1L, encoder.stats().get("abandoned"));
+    }
+
+    @Test
+    void timedOutCallerFreesItsQueueSlot() throws Exception {
+        CompletableFuture.runAsync(() -> encoder.encode("first"));
+        assertTrue(delegate.started.await(1, TimeUnit.SECONDS));
+
+        assertThrows(PasswordHashingRejectedException.class, () -> encoder.encode("second"));
+        CompletableFuture<String> third = CompletableFuture.supplyAsync(() -> encoder.encode("third"));
+        Thread.sleep(20);
+
+        delegate.release.countDown();
+        assertEquals("hashed", third.get(1, TimeUnit.SECONDS));
+        assertEquals(2, delegate.calls.get());
+    }
+
+    // Holds every hash until released, as a saturated pool of real BCrypt work would.
+    private static final class SlowEncoder implements PasswordEncoder {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            calls.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed";
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.career.portal.services;
+
+import com.career.portal.services.CandidateRankingService.Ranked;
+import com.career.portal.services.CandidateRankingService.Shortlist;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CandidateRankingShortlistTest {
+
+    @Test
+    void keepsTheBestEntriesInRankOrder() {
+        Shortlist shortlist = shortlist(3, 5, 9, 1, 7);
+
+        assertEquals(List.of(9L, 7L, 5L), ids(shortlist));
+    }
+
+    @Test
+    void equalScoresRankTheHigherApplicationIdFirst() {
+        Shortlist shortlist = new Shortlist(3);
+        shortlist.offer(new Ranked(1, 10));
+        shortlist.offer(new Ranked(2, 10));
+
+        assertEquals(List.of(2L, 1L), ids(shortlist));
+    }
+
+    @Test
+    void completeShortlistAbsorbsEveryChange() {
+        Shortlist shortlist = shortlist(3, 5, 9);
+
+        assertTrue(shortlist.update(9, null));
+        assertTrue(shortlist.update(5, new Ranked(5, 1)));
+        assertTrue(shortlist.update(4, new Ranked(4, 4)));
+        assertEquals(List.of(4L, 5L), ids(shortlist));
+    }
+
+    @Test
+    void removalFromAFullShortlistNeedsAReload() {
+        // 1 was offered and dropped, so the shortlist no longer holds every applicant.
+        Shortlist shortlist = shortlist(2, 5, 9, 1);
+
+        assertFalse(shortlist.update(9, null));
+    }
+
+    @Test
+    void movesAtOrAboveTheFloorAreAppliedInPlace() {
+        Shortlist shortlist = shortlist(3, 5, 7, 9, 1);
+
+        assertTrue(shortlist.update(5, new Ranked(5, 20)));
+        // 7 is the floor now, and 9 still ranks above it.
+        assertTrue(shortlist.update(9, new Ranked(9, 8)));
+        assertEquals(List.of(5L, 9L, 7L), ids(shortlist));
+    }
+
+    @Test
+    void dropBelowTheFloorNeedsAReload() {
+        // An applicant outside the shortlist may now outrank 9, so the caller must reload.
+        Shortlist shortlist = shortlist(3, 5, 7, 9, 1);
+
+        assertFalse(shortlist.update(9, new Ranked(9, 2)));
+    }
+
+    @Test
+    void newcomerIsOfferedAndOnlyKeptIfItRanks() {
+        Shortlist shortlist = shortlist(2, 5, 9, 1);
+
+        assertTrue(shortlist.update(3, new Ranked(3, 3)));
+        assertEquals(List.of(9L, 5L), ids(shortlist));
+        assertTrue(shortlist.update(8, new Ranked(8, 8)));
+        assertEquals(List.of(9L, 8L), ids(shortlist));
+        assertTrue(shortlist.update(4, null));
+    }
+
+    @Test
+    void pagesContinueBelowTheCursor() {
+        Shortlist shortlist = shortlist(10, 1, 2, 3, 4, 5, 6);
+
+        List<Ranked> first = shortlist.after(null, 4);
+        assertEquals(List.of(6L, 5L, 4L, 3L), first.stream().map(Ranked::applicationId).toList());
+
+        Ranked cursor = first.get(first.size() - 1);
+        // The cursor entry leaving the shortlist does not move the next page.
+        shortlist.update(cursor.applicationId(), null);
+        assertEquals(List.of(2L, 1L), shortlist.after(cursor, 4).stream().map(Ranked::applicationId).toList());
+    }
+
+    // Offers one entry per score, using the score as the application id.
+    private static Shortlist shortlist(int capacity, int... scores) {
+        Shortlist shortlist = new Shortlist(capacity);
+        for (int score : scores) {
+            shortlist.offer(new Ranked(score, score));
+        }
+        return shortlist;
+    }
+
+    private static List<Long> ids(Shortlist shortlist) {
+        return shortlist.after(null, Integer.MAX_VALUE).stream().map(Ranked::applicationId).toList();
+    }
+}
@@ -0,0 +1,74 @@
+package com.career.portal.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommitCursorTest {
+
+    @Test
+    void consecutiveIdsLeaveNoGaps() {
+        CommitCursor cursor = new CommitCursor(10, 1000, 100);
+
+        assertTrue(cursor.seen(11, 0));
+        assertTrue(cursor.seen(12, 0));
+
+        assertEquals(12, cursor.position());
+        assertTrue(cursor.gaps().isEmpty());
+    }
+
+    @Test
+    void skippedIdsAreRecheckedUntilTheyCommit() {
+        CommitCursor cursor = new CommitCursor(0, 1000, 100);
+
+        cursor.seen(1, 0);
+        cursor.seen(4, 0);
+        assertEquals(List.of(2L, 3L), cursor.gaps());
+
+        // Row 3 commits after 4 was read.
+        assertTrue(cursor.seen(3, 10));
+        assertEquals(List.of(2L), cursor.gaps());
+        assertEquals(4, cursor.position());
+    }
+
+    @Test
+    void rowsAreReadOnce() {
+        CommitCursor cursor = new CommitCursor(0, 1000, 100);
+
+        cursor.seen(1, 0);
+        cursor.seen(3, 0);
+        cursor.seen(2, 0);
+
+        assertFalse(cursor.seen(1, 0));
+        assertFalse(cursor.seen(2, 0));
+        assertFalse(cursor.seen(3, 0));
+    }
+
+    @Test
+    void gapsExpire() {
+        CommitCursor cursor = new CommitCursor(0, 1000, 100);
+
+        cursor.seen(2, 0);
+        cursor.seen(5, 600);
+        cursor.expire(1500);
+
+        assertEquals(List.of(3L, 4L), cursor.gaps());
+        cursor.expire(1700);
+        assertTrue(cursor.gaps().isEmpty());
+    }
+
+    @Test
+    void gapsAreBounded() {
+        CommitCursor cursor = new CommitCursor(0, 1000, 3);
+
+        cursor.seen(1_000_000, 0);
+
+        assertEquals(List.of(999_997L, 999_998L, 999_999L), cursor.gaps());
+        cursor.seen(1_000_002, 0);
+        assertEquals(List.of(999_998L, 999_999L, 1_000_001L), cursor.gaps());
+    }
+}
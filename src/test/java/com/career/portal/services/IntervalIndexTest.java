@@ -0,0 +1,88 @@
+package com.career.portal.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntervalIndexTest {
+
+    @Test
+    void emptyIndexMatchesNothing() {
+        assertTrue(IntervalIndex.EMPTY.overlapping(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY).isEmpty());
+        assertTrue(IntervalIndex.builder().build().overlapping(0, 10).isEmpty());
+    }
+
+    @Test
+    void endpointsAreInclusive() {
+        IntervalIndex index = IntervalIndex.builder()
+                .add(10, 20, 0)
+                .add(30, 30, 1)
+                .build();
+
+        assertEquals(bits(0), index.overlapping(20, 25));
+        assertEquals(bits(0), index.overlapping(0, 10));
+        assertEquals(bits(1), index.overlapping(30, 30));
+        assertEquals(bits(), index.overlapping(21, 29));
+        assertEquals(bits(0, 1), index.overlapping(15, 35));
+    }
+
+    @Test
+    void reversedBoundsAreNormalized() {
+        IntervalIndex index = IntervalIndex.builder().add(20, 10, 7).build();
+
+        assertEquals(bits(7), index.overlapping(12, 12));
+    }
+
+    @Test
+    void openEndedIntervalsAndQueries() {
+        // Deadlines are stored as points, with "no deadline" at positive infinity.
+        IntervalIndex index = IntervalIndex.builder()
+                .add(100, 100, 0)
+                .add(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, 1)
+                .add(50, 50, 2)
+                .build();
+
+        assertEquals(bits(0, 1), index.overlapping(Math.nextUp(50.0), Double.POSITIVE_INFINITY));
+        assertEquals(bits(0, 1, 2), index.overlapping(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void matchesBruteForceOnRandomIntervals() {
+        Random random = new Random(42);
+        int count = 2_000;
+        double[] from = new double[count];
+        double[] to = new double[count];
+        IntervalIndex.Builder builder = IntervalIndex.builder();
+        for (int i = 0; i < count; i++) {
+            from[i] = random.nextInt(10_000);
+            to[i] = from[i] + random.nextInt(500);
+            builder.add(from[i], to[i], i);
+        }
+        IntervalIndex index = builder.build();
+        assertEquals(count, index.size());
+
+        for (int query = 0; query < 500; query++) {
+            double low = random.nextInt(11_000) - 500;
+            double high = low + random.nextInt(1_000);
+            BitSet expected = new BitSet();
+            for (int i = 0; i < count; i++) {
+                if (from[i] <= high && to[i] >= low) {
+                    expected.set(i);
+                }
+            }
+            assertEquals(expected, index.overlapping(low, high), "query [" + low + ", " + high + "]");
+        }
+    }
+
+    private static BitSet bits(int... ordinals) {
+        BitSet bits = new BitSet();
+        for (int ordinal : ordinals) {
+            bits.set(ordinal);
+        }
+        return bits;
+    }
+}
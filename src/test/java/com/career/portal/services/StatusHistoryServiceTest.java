@@ -0,0 +1,77 @@
+package com.career.portal.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatusHistoryServiceTest {
+
+    private static final int LAST_BUCKET = 159;
+
+    @Test
+    void smallDurationsHaveFixedBuckets() {
+        assertEquals(0, StatusHistoryService.bucket(-5));
+        assertEquals(0, StatusHistoryService.bucket(0));
+        assertEquals(1, StatusHistoryService.bucket(1));
+        assertEquals(5, StatusHistoryService.bucket(2));
+        assertEquals(9, StatusHistoryService.bucket(4));
+    }
+
+    @Test
+    void bucketsGrowWithDurationAndAreCapped() {
+        int previous = 0;
+        for (long seconds = 0; seconds <= 1_000_000; seconds += 37) {
+            int bucket = StatusHistoryService.bucket(seconds);
+            assertTrue(bucket >= previous, "bucket of " + seconds + " went down");
+            previous = bucket;
+        }
+        assertEquals(LAST_BUCKET, StatusHistoryService.bucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    void upperBoundIsWithinNineteenPercent() {
+        for (long seconds = 100; seconds <= 1_000_000; seconds += 7) {
+            long upper = StatusHistoryService.upperBoundSeconds(StatusHistoryService.bucket(seconds));
+            assertTrue(upper >= seconds, "upper bound " + upper + " below " + seconds);
+            assertTrue(upper <= seconds * 1.19 + 1, "upper bound " + upper + " too far above " + seconds);
+        }
+    }
+
+    @Test
+    void percentileOfOneBucketIsItsUpperBound() {
+        long[] buckets = new long[LAST_BUCKET + 1];
+        buckets[8] = 10;
+
+        assertEquals(4, StatusHistoryService.percentile(buckets, 10, 0.5));
+        assertEquals(4, StatusHistoryService.percentile(buckets, 10, 0.9));
+    }
+
+    @Test
+    void percentilesSplitAcrossBuckets() {
+        long[] buckets = new long[LAST_BUCKET + 1];
+        buckets[4] = 5;
+        buckets[8] = 5;
+
+        assertEquals(2, StatusHistoryService.percentile(buckets, 10, 0.5));
+        assertEquals(4, StatusHistoryService.percentile(buckets, 10, 0.9));
+    }
+
+    @Test
+    void medianRoundsTheRankUp() {
+        long[] buckets = new long[LAST_BUCKET + 1];
+        buckets[4] = 3;
+        buckets[8] = 2;
+
+        assertEquals(2, StatusHistoryService.percentile(buckets, 5, 0.5));
+        assertEquals(4, StatusHistoryService.percentile(buckets, 5, 0.9));
+    }
+
+    @Test
+    void zeroDurationsStayAtZero() {
+        long[] buckets = new long[LAST_BUCKET + 1];
+        buckets[0] = 3;
+
+        assertEquals(0, StatusHistoryService.percentile(buckets, 3, 0.9));
+    }
+}